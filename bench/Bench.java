@@ -0,0 +1,120 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * Minimal measurement harness shared by the benchmark programs in this
+ * source folder. Each measurement runs a few untimed warmup rounds and then
+ * repeats the operation until a minimum wall-clock budget has elapsed,
+ * reporting nanoseconds and heap bytes allocated per operation.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public final class Bench {
+    private static final long MIN_NANOS = 200_000_000L;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+    /**
+     * Sink for results so the JIT cannot discard benchmarked work.
+     */
+    private static long blackhole;
+
+    /**
+     * A single benchmarked round.
+     */
+    public interface Round {
+        /**
+         * Prepares state for one round; not timed.
+         */
+        default void setUp() {
+            // nothing by default
+        }
+
+
+        /**
+         * Executes the timed work of one round.
+         *
+         * @return number of logical operations performed
+         */
+        long run();
+    }
+
+    private Bench() {
+        // static helpers only
+    }
+
+
+    /**
+     * Measures a round and prints one result row.
+     *
+     * @param label
+     *            row label (operation and parameters)
+     * @param round
+     *            work to measure
+     */
+    public static void measure(String label, Round round) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.setUp();
+            round.run();
+        }
+        long ops = 0;
+        long nanos = 0;
+        long bytes = 0;
+        long thread = Thread.currentThread().getId();
+        while (nanos < MIN_NANOS) {
+            round.setUp();
+            long allocBefore = THREADS.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            ops += round.run();
+            nanos += System.nanoTime() - start;
+            bytes += THREADS.getThreadAllocatedBytes(thread) - allocBefore;
+        }
+        double nsPerOp = (double)nanos / Math.max(1, ops);
+        double bytesPerOp = (double)bytes / Math.max(1, ops);
+        System.out.println(String.format(
+            "%-48s %12.1f ns/op %14.0f ops/s %10.1f B/op", label, nsPerOp, 1e9
+                / nsPerOp, bytesPerOp));
+    }
+
+
+    /**
+     * Consumes a value so that the computation producing it stays live.
+     *
+     * @param value
+     *            value to consume
+     */
+    public static void consume(Object value) {
+        blackhole += value == null ? 0 : System.identityHashCode(value);
+    }
+
+
+    /**
+     * Parses a comma separated option of the form {@code --key=a,b,c}.
+     *
+     * @param args
+     *            command line
+     * @param key
+     *            option name without dashes
+     * @param defaults
+     *            value list used when the option is absent
+     * @return option values
+     */
+    public static String[] option(String[] args, String key, String defaults) {
+        String prefix = "--" + key + "=";
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith(prefix)) {
+                return args[i].substring(prefix.length()).split(",");
+            }
+        }
+        return defaults.split(",");
+    }
+
+
+    /**
+     * @return the accumulated blackhole value (printed to keep it live)
+     */
+    public static long blackhole() {
+        return blackhole;
+    }
+}
@@ -0,0 +1,57 @@
+import java.util.Random;
+
+/**
+ * Measures heap allocation of Bintree traversals. A re-insert of an object
+ * already stored in the tree walks the full root-to-leaf path (including the
+ * leaf split check) without changing the structure, so its bytes/op is the
+ * allocation cost of the descent itself and should be zero.
+ * <p>
+ * Usage: {@code java BintreeAllocationBenchmark [--sizes=1000,100000]}
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public final class BintreeAllocationBenchmark {
+    private static final int QUERIES = 256;
+
+    private BintreeAllocationBenchmark() {
+        // entry point only
+    }
+
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            options, see the class comment
+     */
+    public static void main(String[] args) {
+        String[] sizes = Bench.option(args, "sizes", "1000,100000");
+        for (int s = 0; s < sizes.length; s++) {
+            int count = Integer.parseInt(sizes[s]);
+            AirObject[] population = WorldDBBenchmark.populate(count, false,
+                false);
+            Bintree tree = new Bintree(new BoundingBox(0, 0, 0, 1024, 1024,
+                1024));
+            for (int i = 0; i < population.length; i++) {
+                tree.insert(population[i]);
+            }
+            Random rnd = new Random(11);
+            Bench.measure("descent (re-insert) " + count, () -> {
+                for (int i = 0; i < QUERIES; i++) {
+                    tree.insert(population[rnd.nextInt(population.length)]);
+                }
+                return QUERIES;
+            });
+            Bench.measure("intersectReport " + count, () -> {
+                for (int i = 0; i < QUERIES; i++) {
+                    Bench.consume(tree.intersectReport(new BoundingBox(rnd
+                        .nextInt(960), rnd.nextInt(960), rnd.nextInt(960), 64,
+                        64, 64)));
+                }
+                return QUERIES;
+            });
+        }
+        System.out.println("blackhole " + Bench.blackhole());
+    }
+}
@@ -0,0 +1,78 @@
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares the serial collisions report with the fork-join version, and the
+ * pairwise leaf kernel with sort-and-sweep on a leaf that cannot split (a
+ * world one cell thick along x).
+ * <p>
+ * Usage: {@code java CollisionsBenchmark [--sizes=10000,100000]
+ * [--threads=1,4,8] [--leaf=500,2000,8000]}
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public final class CollisionsBenchmark {
+
+    private CollisionsBenchmark() {
+        // entry point only
+    }
+
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            options, see the class comment
+     */
+    public static void main(String[] args) {
+        String[] sizes = Bench.option(args, "sizes", "10000,100000");
+        String[] threads = Bench.option(args, "threads", "1,4,8");
+        for (int s = 0; s < sizes.length; s++) {
+            int count = Integer.parseInt(sizes[s]);
+            WorldDB world = new WorldDB(new Random(7));
+            world.addAll(WorldDBBenchmark.populate(count, true, false));
+            Bench.measure("serial " + count, () -> {
+                Bench.consume(world.collisions());
+                return 1;
+            });
+            for (int t = 0; t < threads.length; t++) {
+                ForkJoinPool pool = new ForkJoinPool(Integer.parseInt(
+                    threads[t]));
+                Bench.measure("parallel x" + threads[t] + " " + count, () -> {
+                    Bench.consume(world.collisions(pool));
+                    return 1;
+                });
+                pool.shutdown();
+            }
+        }
+        String[] leafSizes = Bench.option(args, "leaf", "500,2000,8000");
+        for (int s = 0; s < leafSizes.length; s++) {
+            int count = Integer.parseInt(leafSizes[s]);
+            Bintree pairwise = crowdedLeaf(count, Integer.MAX_VALUE);
+            Bintree sweep = crowdedLeaf(count, 1);
+            Bench.measure("leaf pairwise " + count, () -> {
+                Bench.consume(pairwise.collisionsReport());
+                return 1;
+            });
+            Bench.measure("leaf sweep " + count, () -> {
+                Bench.consume(sweep.collisionsReport());
+                return 1;
+            });
+        }
+        System.out.println("blackhole " + Bench.blackhole());
+    }
+
+
+    private static Bintree crowdedLeaf(int count, int sweepThreshold) {
+        Bintree tree = new Bintree(new BoundingBox(0, 0, 0, 1, 1024, 1024),
+            sweepThreshold);
+        Random rnd = new Random(count);
+        for (int i = 0; i < count; i++) {
+            tree.insert(new Balloon("leaf" + i, 0, rnd.nextInt(1000), rnd
+                .nextInt(1000), 1, 1 + rnd.nextInt(24), 1 + rnd.nextInt(24),
+                "hot_air", 5));
+        }
+        return tree;
+    }
+}
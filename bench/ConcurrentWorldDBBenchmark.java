@@ -0,0 +1,84 @@
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Query throughput of {@link ConcurrentWorldDB} as reader threads are added
+ * while one ingest thread keeps adding and deleting objects.
+ * <p>
+ * Usage: {@code java ConcurrentWorldDBBenchmark [--size=100000]
+ * [--readers=1,2,4,8] [--seconds=2]}
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public final class ConcurrentWorldDBBenchmark {
+
+    private ConcurrentWorldDBBenchmark() {
+        // entry point only
+    }
+
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            options, see the class comment
+     * @throws InterruptedException
+     *             if interrupted while waiting for workers
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int size = Integer.parseInt(Bench.option(args, "size", "100000")[0]);
+        String[] readerCounts = Bench.option(args, "readers", "1,2,4,8");
+        long millis = 1000L * Integer.parseInt(Bench.option(args, "seconds",
+            "2")[0]);
+        AirObject[] population = WorldDBBenchmark.populate(size, false, false);
+        for (int c = 0; c < readerCounts.length; c++) {
+            int readers = Integer.parseInt(readerCounts[c]);
+            ConcurrentWorldDB world = new ConcurrentWorldDB(new Random(7));
+            for (int i = 0; i < population.length; i++) {
+                world.add(population[i]);
+            }
+            AtomicLong queries = new AtomicLong();
+            AtomicLong writes = new AtomicLong();
+            long deadline = System.currentTimeMillis() + millis;
+            Thread writer = new Thread(() -> {
+                Random rnd = new Random(3);
+                while (System.currentTimeMillis() < deadline) {
+                    AirObject obj = population[rnd.nextInt(population.length)];
+                    world.delete(obj.getName());
+                    world.add(obj);
+                    writes.addAndGet(2);
+                }
+            });
+            Thread[] workers = new Thread[readers];
+            for (int r = 0; r < readers; r++) {
+                final int seed = r;
+                workers[r] = new Thread(() -> {
+                    Random rnd = new Random(seed);
+                    long done = 0;
+                    while (System.currentTimeMillis() < deadline) {
+                        Bench.consume(world.intersect(rnd.nextInt(960), rnd
+                            .nextInt(960), rnd.nextInt(960), 64, 64, 64));
+                        Bench.consume(world.print(population[rnd.nextInt(
+                            population.length)].getName()));
+                        done += 2;
+                    }
+                    queries.addAndGet(done);
+                });
+            }
+            writer.start();
+            for (int r = 0; r < readers; r++) {
+                workers[r].start();
+            }
+            writer.join();
+            for (int r = 0; r < readers; r++) {
+                workers[r].join();
+            }
+            System.out.println(String.format(
+                "%2d readers: %12.0f queries/s %12.0f writes/s", readers,
+                queries.get() * 1000.0 / millis, writes.get() * 1000.0
+                    / millis));
+        }
+        System.out.println("blackhole " + Bench.blackhole());
+    }
+}
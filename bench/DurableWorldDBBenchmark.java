@@ -0,0 +1,92 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Mutation throughput of {@link DurableWorldDB} at several group commit
+ * sizes, against the plain in-memory {@link WorldDB}. Each operation is a
+ * delete followed by a re-add of a random object, so the logged record mix
+ * matches a steady-state feed. The in-memory baseline is measured again at
+ * the end, after the JIT has settled.
+ * <p>
+ * Usage: {@code java DurableWorldDBBenchmark [--size=10000]
+ * [--groups=1,16,256,1024] [--dir=/tmp]}
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public final class DurableWorldDBBenchmark {
+    private static final int OPERATIONS = 1024;
+
+    private DurableWorldDBBenchmark() {
+        // entry point only
+    }
+
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            options, see the class comment
+     * @throws IOException
+     *             if the scratch files cannot be used
+     */
+    public static void main(String[] args) throws IOException {
+        int size = Integer.parseInt(Bench.option(args, "size", "10000")[0]);
+        String[] groups = Bench.option(args, "groups", "1,16,256,1024");
+        Path parent = Path.of(Bench.option(args, "dir", System.getProperty(
+            "java.io.tmpdir"))[0]);
+        AirObject[] population = WorldDBBenchmark.populate(size, false, false);
+
+        WorldDB plain = new WorldDB(new Random(7));
+        plain.addAll(population);
+        Random rnd = new Random(42);
+        Bench.measure("in-memory " + size, () -> churn(plain, population,
+            rnd));
+
+        for (int g = 0; g < groups.length; g++) {
+            int groupSize = Integer.parseInt(groups[g]);
+            Path directory = Files.createTempDirectory(parent, "durable");
+            try (DurableWorldDB durable = DurableWorldDB.open(directory,
+                new Random(7), 1024, groupSize, 256L * 1024 * 1024)) {
+                for (int i = 0; i < population.length; i++) {
+                    durable.add(population[i]);
+                }
+                durable.compact();
+                Bench.measure("durable group=" + groupSize + " " + size,
+                    () -> churn(durable, population, rnd));
+            }
+            finally {
+                try (Stream<Path> files = Files.list(directory)) {
+                    files.forEach(DurableWorldDBBenchmark::deleteQuietly);
+                }
+                Files.deleteIfExists(directory);
+            }
+        }
+        Bench.measure("in-memory " + size, () -> churn(plain, population,
+            rnd));
+        System.out.println("blackhole " + Bench.blackhole());
+    }
+
+
+    private static long churn(ATC world, AirObject[] population, Random rnd) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            AirObject obj = population[rnd.nextInt(population.length)];
+            Bench.consume(world.delete(obj.getName()));
+            Bench.consume(world.add(obj));
+        }
+        return OPERATIONS * 2;
+    }
+
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e) {
+            System.out.println("could not delete " + file);
+        }
+    }
+}
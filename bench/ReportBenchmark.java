@@ -0,0 +1,86 @@
+import java.util.Random;
+
+/**
+ * Report generation with and without the cached AirObject report lines.
+ * The cold rows relocate every object to its current origin before each
+ * round, which leaves the structures untouched but drops the cached lines,
+ * so every line is rendered again; the warm rows reuse the cache.
+ * <p>
+ * Usage: {@code java ReportBenchmark [--sizes=1000,20000]}
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public final class ReportBenchmark {
+
+    private ReportBenchmark() {
+        // entry point only
+    }
+
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            options, see the class comment
+     */
+    public static void main(String[] args) {
+        String[] sizes = Bench.option(args, "sizes", "1000,20000");
+        for (int s = 0; s < sizes.length; s++) {
+            int count = Integer.parseInt(sizes[s]);
+            AirObject[] population = WorldDBBenchmark.populate(count, true,
+                false);
+            WorldDB world = new WorldDB(new Random(3));
+            world.addAll(population);
+            ReportSink sink = line -> Bench.consume(line);
+            for (int warm = 0; warm < 2; warm++) {
+                String mode = warm == 0 ? "cold " : "warm ";
+                Bench.measure(mode + "rangeprint " + count, round(population,
+                    warm == 0, () -> {
+                        world.rangeprint("a", "z", sink);
+                        return count;
+                    }));
+                Bench.measure(mode + "printbintree " + count, round(
+                    population, warm == 0, () -> {
+                        world.printbintree(sink);
+                        return count;
+                    }));
+                Bench.measure(mode + "collisions " + count, round(population,
+                    warm == 0, () -> {
+                        world.collisions(sink);
+                        return count;
+                    }));
+            }
+        }
+        System.out.println("blackhole " + Bench.blackhole());
+    }
+
+
+    /**
+     * Wraps a report in a round whose setUp optionally drops every cached
+     * line.
+     */
+    private static Bench.Round round(
+        AirObject[] population,
+        boolean cold,
+        Bench.Round report) {
+        return new Bench.Round() {
+            @Override
+            public void setUp() {
+                if (cold) {
+                    for (int i = 0; i < population.length; i++) {
+                        AirObject obj = population[i];
+                        obj.relocate(obj.getXorig(), obj.getYorig(), obj
+                            .getZorig());
+                    }
+                }
+            }
+
+
+            @Override
+            public long run() {
+                return report.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,208 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Cost of drawing skip list levels, and of bulk inserts into an empty
+ * {@link AirObjectSkipList}, with the legacy per-level
+ * {@link Random#nextInt()} generator and the single-draw
+ * {@link AirObjectSkipList#fastLevels(long)} generator.
+ * <p>
+ * Then a matrix over promotion probability p and number of levels, on two
+ * name distributions: the benchmark population's "obj0001234_17" names and
+ * flight-style names ("UAL1234_17") that share a handful of prefixes. Each
+ * cell reports the forward pointers per node, which is the memory side of
+ * the trade-off, followed by search and delete-plus-reinsert latency.
+ * <p>
+ * Last, lookups of every name in ascending order from the head and through
+ * a {@link AirObjectSkipList.Finger}, and paging through the whole list
+ * with a fresh cursor per page (a descent per page) and with one
+ * {@link AirObjectSkipList.Cursor}.
+ * <p>
+ * Usage: {@code java SkipListBenchmark [--sizes=10000,100000]
+ * [--ps=0.5,0.25,0.3679] [--levels=16,32]}
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public final class SkipListBenchmark {
+    private static final int DRAWS = 4096;
+    private static final int PAGE = 20;
+
+    private SkipListBenchmark() {
+        // entry point only
+    }
+
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            options, see the class comment
+     */
+    public static void main(String[] args) {
+        String[] sizes = Bench.option(args, "sizes", "10000,100000");
+        String[] kinds = { "legacy", "fast" };
+        for (int k = 0; k < kinds.length; k++) {
+            AirObjectSkipList.LevelGenerator levels = generator(kinds[k]);
+            Bench.measure(kinds[k] + " level draw", () -> {
+                long sum = 0;
+                for (int i = 0; i < DRAWS; i++) {
+                    sum += levels.nextLevel(31);
+                }
+                Bench.consume(sum);
+                return DRAWS;
+            });
+        }
+        for (int s = 0; s < sizes.length; s++) {
+            int count = Integer.parseInt(sizes[s]);
+            AirObject[] population = WorldDBBenchmark.populate(count, false,
+                false);
+            for (int k = 0; k < kinds.length; k++) {
+                String kind = kinds[k];
+                Bench.measure(kind + " insert " + count, new Bench.Round() {
+                    private AirObjectSkipList list;
+
+                    @Override
+                    public void setUp() {
+                        list = new AirObjectSkipList(generator(kind));
+                    }
+
+
+                    @Override
+                    public long run() {
+                        for (int i = 0; i < population.length; i++) {
+                            list.insert(population[i]);
+                        }
+                        return population.length;
+                    }
+                });
+            }
+        }
+        String[] ps = Bench.option(args, "ps", "0.5,0.25,0.3679");
+        String[] levelCounts = Bench.option(args, "levels", "16,32");
+        for (int s = 0; s < sizes.length; s++) {
+            int count = Integer.parseInt(sizes[s]);
+            AirObject[][] distributions = { WorldDBBenchmark.populate(count,
+                false, false), flights(count) };
+            String[] labels = { "objects", "flights" };
+            for (int d = 0; d < distributions.length; d++) {
+                for (int p = 0; p < ps.length; p++) {
+                    for (int l = 0; l < levelCounts.length; l++) {
+                        matrixCell(labels[d] + " " + count + " p=" + ps[p]
+                            + " levels=" + levelCounts[l], distributions[d],
+                            Double.parseDouble(ps[p]), Integer.parseInt(
+                                levelCounts[l]));
+                    }
+                }
+            }
+        }
+        for (int s = 0; s < sizes.length; s++) {
+            sequential(Integer.parseInt(sizes[s]));
+        }
+        System.out.println("blackhole " + Bench.blackhole());
+    }
+
+
+    private static void sequential(int count) {
+        AirObject[] population = WorldDBBenchmark.populate(count, false,
+            false);
+        AirObjectSkipList list = new AirObjectSkipList(AirObjectSkipList
+            .fastLevels(42));
+        String[] names = new String[population.length];
+        for (int i = 0; i < population.length; i++) {
+            list.insert(population[i]);
+            names[i] = population[i].getName();
+        }
+        Arrays.sort(names);
+        Bench.measure("ascending search " + count, () -> {
+            for (int i = 0; i < names.length; i++) {
+                Bench.consume(list.search(names[i]));
+            }
+            return names.length;
+        });
+        Bench.measure("ascending finger search " + count, () -> {
+            AirObjectSkipList.Finger finger = list.finger();
+            for (int i = 0; i < names.length; i++) {
+                Bench.consume(finger.search(names[i]));
+            }
+            return names.length;
+        });
+        AirObjectSkipList.Visitor sink = obj -> Bench.consume(obj);
+        Bench.measure("pages of " + PAGE + ", descent each " + count, () -> {
+            String from = "";
+            int pages = 0;
+            while (list.cursor(from, "\uffff").next(PAGE, sink) == PAGE) {
+                from = names[++pages * PAGE - 1] + "\u0000";
+            }
+            return names.length;
+        });
+        Bench.measure("pages of " + PAGE + ", one cursor " + count, () -> {
+            AirObjectSkipList.Cursor cursor = list.cursor("", "\uffff");
+            while (cursor.next(PAGE, sink) == PAGE) {
+                Bench.consume(cursor);
+            }
+            return names.length;
+        });
+    }
+
+
+    private static void matrixCell(
+        String label,
+        AirObject[] population,
+        double p,
+        int levels) {
+        AirObjectSkipList list = new AirObjectSkipList(AirObjectSkipList
+            .fastLevels(42, p), levels);
+        for (int i = 0; i < population.length; i++) {
+            list.insert(population[i]);
+        }
+        byte[] nodeLevels = list.levels();
+        long pointers = 0;
+        for (int i = 0; i < nodeLevels.length; i++) {
+            pointers += nodeLevels[i] + 1;
+        }
+        System.out.println(String.format("%-48s %12.2f pointers/node", label,
+            (double)pointers / Math.max(1, nodeLevels.length)));
+        Random rnd = new Random(9);
+        Bench.measure("  search", () -> {
+            for (int q = 0; q < DRAWS; q++) {
+                Bench.consume(list.search(population[rnd.nextInt(
+                    population.length)].getName()));
+            }
+            return DRAWS;
+        });
+        Bench.measure("  delete+reinsert", () -> {
+            for (int q = 0; q < DRAWS; q++) {
+                AirObject obj = population[rnd.nextInt(population.length)];
+                list.remove(obj.getName());
+                list.insert(obj);
+            }
+            return DRAWS;
+        });
+    }
+
+
+    /**
+     * Flight-style names: a three-letter carrier from a short list and a
+     * four-digit number, made unique with an index suffix.
+     */
+    private static AirObject[] flights(int count) {
+        String[] carriers = { "AAL", "DAL", "UAL", "SWA", "JBU", "ASA" };
+        Random rnd = new Random(count);
+        AirObject[] objects = new AirObject[count];
+        for (int i = 0; i < count; i++) {
+            String name = carriers[rnd.nextInt(carriers.length)] + (1000 + rnd
+                .nextInt(9000)) + "_" + i;
+            objects[i] = new AirPlane(name, 1, 1, 1, 4, 4, 4, "carrier", 1
+                + i % 9999, 2);
+        }
+        return objects;
+    }
+
+
+    private static AirObjectSkipList.LevelGenerator generator(String kind) {
+        return kind.equals("fast")
+            ? AirObjectSkipList.fastLevels(42)
+            : AirObjectSkipList.legacyLevels(new Random(42));
+    }
+}
@@ -0,0 +1,316 @@
+import java.util.Random;
+
+/**
+ * Throughput and allocation benchmark for every WorldDB operation.
+ * <p>
+ * Usage: {@code java WorldDBBenchmark [--sizes=1000,10000]
+ * [--placement=uniform,clustered] [--boxes=small,spanning]
+ * [--ops=add,addAll,delete,move,tick,print,rangeprint,collisions,intersect]
+ * [--index=off,on]}
+ * <p>
+ * With {@code --index=on} the worlds keep the Skiplist's name index (see
+ * {@link WorldDB#indexNames(boolean)}), and the rows are marked "indexed".
+ * <p>
+ * Populations up to 1000000 objects are supported; the quadratic
+ * collisions report is skipped automatically for spanning boxes above
+ * {@link #COLLISION_LIMIT} objects.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public final class WorldDBBenchmark {
+    private static final int WORLD_SIZE = 1024;
+    private static final int COLLISION_LIMIT = 20_000;
+    private static final int QUERIES = 256;
+
+    private WorldDBBenchmark() {
+        // entry point only
+    }
+
+
+    /**
+     * Runs the benchmark matrix.
+     *
+     * @param args
+     *            options, see the class comment
+     */
+    public static void main(String[] args) {
+        String[] sizes = Bench.option(args, "sizes", "1000,10000,100000");
+        String[] placements = Bench.option(args, "placement",
+            "uniform,clustered");
+        String[] boxes = Bench.option(args, "boxes", "small,spanning");
+        String[] ops = Bench.option(args, "ops",
+            "add,addAll,delete,move,tick,print,rangeprint,collisions,"
+                + "intersect");
+        String[] index = Bench.option(args, "index", "off");
+        for (int s = 0; s < sizes.length; s++) {
+            int count = Integer.parseInt(sizes[s]);
+            for (int p = 0; p < placements.length; p++) {
+                for (int b = 0; b < boxes.length; b++) {
+                    AirObject[] population = populate(count, placements[p]
+                        .equals("clustered"), boxes[b].equals("spanning"));
+                    for (int x = 0; x < index.length; x++) {
+                        boolean indexed = index[x].equals("on");
+                        String label = count + " " + placements[p] + " "
+                            + boxes[b] + (indexed ? " indexed" : "");
+                        for (int o = 0; o < ops.length; o++) {
+                            run(ops[o], label, population, boxes[b].equals(
+                                "spanning"), indexed);
+                        }
+                    }
+                }
+            }
+        }
+        System.out.println("blackhole " + Bench.blackhole());
+    }
+
+
+    private static void run(
+        String op,
+        String label,
+        AirObject[] population,
+        boolean spanning,
+        boolean indexed) {
+        String row = op + " " + label;
+        Random rnd = new Random(42);
+        switch (op) {
+            case "add":
+                Bench.measure(row, new Bench.Round() {
+                    private WorldDB world;
+
+                    @Override
+                    public void setUp() {
+                        world = empty(indexed);
+                    }
+
+
+                    @Override
+                    public long run() {
+                        for (int i = 0; i < population.length; i++) {
+                            world.add(population[i]);
+                        }
+                        return population.length;
+                    }
+                });
+                break;
+            case "addAll":
+                Bench.measure(row, new Bench.Round() {
+                    private WorldDB world;
+
+                    @Override
+                    public void setUp() {
+                        world = empty(indexed);
+                    }
+
+
+                    @Override
+                    public long run() {
+                        world.addAll(population);
+                        return population.length;
+                    }
+                });
+                break;
+            case "delete":
+                Bench.measure(row, new Bench.Round() {
+                    private WorldDB world;
+
+                    @Override
+                    public void setUp() {
+                        world = filled(population, indexed);
+                    }
+
+
+                    @Override
+                    public long run() {
+                        for (int i = 0; i < population.length; i++) {
+                            Bench.consume(world.delete(population[i]
+                                .getName()));
+                        }
+                        return population.length;
+                    }
+                });
+                break;
+            case "move":
+                WorldDB moveWorld = filled(population, indexed);
+                Bench.measure(row, () -> {
+                    for (int i = 0; i < QUERIES; i++) {
+                        AirObject obj = population[rnd.nextInt(
+                            population.length)];
+                        Bench.consume(moveWorld.move(obj.getName(), nudge(obj
+                            .getXorig(), obj.getXwidth(), rnd), nudge(obj
+                                .getYorig(), obj.getYwidth(), rnd), nudge(obj
+                                    .getZorig(), obj.getZwidth(), rnd)));
+                    }
+                    return QUERIES;
+                });
+                break;
+            case "tick":
+                WorldDB tickWorld = filled(population, indexed);
+                TickBatch batch = new TickBatch(population.length);
+                Bench.measure(row, () -> {
+                    batch.clear();
+                    for (int i = 0; i < population.length; i++) {
+                        AirObject obj = population[i];
+                        batch.add(obj.getName(), nudge(obj.getXorig(), obj
+                            .getXwidth(), rnd), nudge(obj.getYorig(), obj
+                                .getYwidth(), rnd), nudge(obj.getZorig(), obj
+                                    .getZwidth(), rnd));
+                    }
+                    Bench.consume(tickWorld.applyTick(batch));
+                    return population.length;
+                });
+                break;
+            case "print":
+                WorldDB printWorld = filled(population, indexed);
+                Bench.measure(row, () -> {
+                    for (int i = 0; i < QUERIES; i++) {
+                        Bench.consume(printWorld.print(population[rnd.nextInt(
+                            population.length)].getName()));
+                    }
+                    return QUERIES;
+                });
+                break;
+            case "rangeprint":
+                WorldDB rangeWorld = filled(population, indexed);
+                Bench.measure(row, () -> {
+                    for (int i = 0; i < QUERIES; i++) {
+                        String first = population[rnd.nextInt(
+                            population.length)].getName();
+                        String second = population[rnd.nextInt(
+                            population.length)].getName();
+                        Bench.consume(first.compareTo(second) <= 0
+                            ? rangeWorld.rangeprint(first, second)
+                            : rangeWorld.rangeprint(second, first));
+                    }
+                    return QUERIES;
+                });
+                break;
+            case "collisions":
+                if (spanning && population.length > COLLISION_LIMIT) {
+                    System.out.println(row + " skipped (quadratic)");
+                    break;
+                }
+                WorldDB collisionWorld = filled(population, indexed);
+                Bench.measure(row, () -> {
+                    Bench.consume(collisionWorld.collisions());
+                    return 1;
+                });
+                break;
+            case "intersect":
+                WorldDB intersectWorld = filled(population, indexed);
+                Bench.measure(row, () -> {
+                    for (int i = 0; i < QUERIES; i++) {
+                        int x = rnd.nextInt(WORLD_SIZE - 64);
+                        int y = rnd.nextInt(WORLD_SIZE - 64);
+                        int z = rnd.nextInt(WORLD_SIZE - 64);
+                        Bench.consume(intersectWorld.intersect(x, y, z, 64, 64,
+                            64));
+                    }
+                    return QUERIES;
+                });
+                break;
+            default:
+                System.out.println("unknown operation " + op);
+        }
+    }
+
+
+    /**
+     * @return an origin a few cells from the given one that keeps a box of
+     *         the given width inside the world
+     */
+    private static int nudge(int origin, int width, Random rnd) {
+        int moved = origin + rnd.nextInt(9) - 4;
+        return Math.max(0, Math.min(WORLD_SIZE - width, moved));
+    }
+
+
+    private static WorldDB empty(boolean indexed) {
+        WorldDB world = new WorldDB(new Random(7));
+        world.indexNames(indexed);
+        return world;
+    }
+
+
+    private static WorldDB filled(AirObject[] population, boolean indexed) {
+        WorldDB world = empty(indexed);
+        for (int i = 0; i < population.length; i++) {
+            world.add(population[i]);
+        }
+        return world;
+    }
+
+
+    /**
+     * Builds a deterministic population of balloons in the default world.
+     *
+     * @param count
+     *            number of objects
+     * @param clustered
+     *            place objects around a handful of hot spots instead of
+     *            uniformly across the world
+     * @param spanning
+     *            use boxes that cover a large fraction of the world instead
+     *            of small ones
+     * @return generated objects
+     */
+    static AirObject[] populate(int count, boolean clustered, boolean spanning) {
+        return populate(count, clustered, spanning, WORLD_SIZE);
+    }
+
+
+    /**
+     * Builds a deterministic population of balloons. Small boxes keep the
+     * same absolute size whatever the world extent, so larger worlds produce
+     * deeper trees; clusters spread in proportion to the world.
+     *
+     * @param count
+     *            number of objects
+     * @param clustered
+     *            place objects around a handful of hot spots instead of
+     *            uniformly across the world
+     * @param spanning
+     *            use boxes that cover a large fraction of the world instead
+     *            of small ones
+     * @param worldSize
+     *            world extent, at most 2^30
+     * @return generated objects
+     */
+    static AirObject[] populate(
+        int count,
+        boolean clustered,
+        boolean spanning,
+        int worldSize) {
+        Random rnd = new Random(count * 31L + (clustered ? 1 : 0) + (spanning
+            ? 2
+            : 0));
+        double spread = 24.0 * worldSize / WORLD_SIZE;
+        AirObject[] objects = new AirObject[count];
+        int[][] centers = new int[8][3];
+        for (int i = 0; i < centers.length; i++) {
+            for (int a = 0; a < 3; a++) {
+                centers[i][a] = worldSize / 16 + rnd.nextInt(worldSize
+                    - worldSize / 8);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int[] origin = new int[3];
+            int[] width = new int[3];
+            for (int a = 0; a < 3; a++) {
+                width[a] = spanning
+                    ? worldSize / 4 + rnd.nextInt(worldSize / 2)
+                    : 1 + rnd.nextInt(8);
+                int limit = worldSize - width[a];
+                long pos = clustered
+                    ? centers[i % centers.length][a] + (long)(rnd
+                        .nextGaussian() * spread)
+                    : rnd.nextInt(limit + 1);
+                origin[a] = (int)Math.max(0, Math.min(limit, pos));
+            }
+            objects[i] = new Balloon(String.format("obj%07d", rnd.nextInt(
+                count * 8)) + "_" + i, origin[0], origin[1], origin[2],
+                width[0], width[1], width[2], "hot_air", 10);
+        }
+        return objects;
+    }
+}
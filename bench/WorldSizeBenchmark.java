@@ -0,0 +1,93 @@
+import java.util.Random;
+
+/**
+ * Shows how add, print and intersect behave as the world extent grows and
+ * the Bintree gets deeper. Object boxes keep the same absolute size, so a
+ * larger world spreads the same population more thinly.
+ * <p>
+ * Usage: {@code java WorldSizeBenchmark [--sizes=100000]
+ * [--worlds=1024,1048576,1073741824] [--placement=uniform,clustered]}
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public final class WorldSizeBenchmark {
+    private static final int QUERIES = 256;
+
+    private WorldSizeBenchmark() {
+        // entry point only
+    }
+
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            options, see the class comment
+     */
+    public static void main(String[] args) {
+        String[] sizes = Bench.option(args, "sizes", "100000");
+        String[] worlds = Bench.option(args, "worlds",
+            "1024,1048576,1073741824");
+        String[] placements = Bench.option(args, "placement",
+            "uniform,clustered");
+        for (int s = 0; s < sizes.length; s++) {
+            int count = Integer.parseInt(sizes[s]);
+            for (int w = 0; w < worlds.length; w++) {
+                int worldSize = Integer.parseInt(worlds[w]);
+                for (int p = 0; p < placements.length; p++) {
+                    AirObject[] population = WorldDBBenchmark.populate(count,
+                        placements[p].equals("clustered"), false, worldSize);
+                    run(count + " world " + worldSize + " " + placements[p],
+                        population, worldSize);
+                }
+            }
+        }
+        System.out.println("blackhole " + Bench.blackhole());
+    }
+
+
+    private static void run(
+        String label,
+        AirObject[] population,
+        int worldSize) {
+        Bench.measure("add " + label, new Bench.Round() {
+            private WorldDB world;
+
+            @Override
+            public void setUp() {
+                world = new WorldDB(new Random(7), worldSize);
+            }
+
+
+            @Override
+            public long run() {
+                for (int i = 0; i < population.length; i++) {
+                    world.add(population[i]);
+                }
+                return population.length;
+            }
+        });
+        WorldDB world = new WorldDB(new Random(7), worldSize);
+        world.addAll(population);
+        Random rnd = new Random(5);
+        Bench.measure("print " + label, () -> {
+            for (int i = 0; i < QUERIES; i++) {
+                Bench.consume(world.print(population[rnd.nextInt(
+                    population.length)].getName()));
+            }
+            return QUERIES;
+        });
+        int side = Math.max(1, worldSize / 16);
+        Bench.measure("intersect " + label, () -> {
+            for (int i = 0; i < QUERIES; i++) {
+                AirObject near = population[rnd.nextInt(population.length)];
+                int x = Math.min(near.getXorig(), worldSize - side);
+                int y = Math.min(near.getYorig(), worldSize - side);
+                int z = Math.min(near.getZorig(), worldSize - side);
+                Bench.consume(world.intersect(x, y, z, side, side, side));
+            }
+            return QUERIES;
+        });
+    }
+}
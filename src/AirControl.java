@@ -3,7 +3,16 @@
  * {Project Description Here}
  */
 
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Random;
 
 /**
  * The class containing the main method.
@@ -41,14 +50,34 @@ import java.io.IOException;
 // letter of this restriction.
 
 public class AirControl {
+    private static final int OUTPUT_CHARS = 64 * 1024;
+
     /**
-     * This is a placeholder for test cases that call the interface methods.
+     * Runs a command file against a new WorldDB and writes the results to
+     * standard output. See {@link CommandProcessor} for the commands.
+     * Without arguments nothing is done, so test cases can call the
+     * interface methods directly.
      *
      * @param args
-     *            Command line parameters: There are none
+     *            Command line parameters: the command file, and optionally
+     *            a seed for the skip list's random levels
      * @throws IOException
      */
     public static void main(String[] args) throws IOException {
-        // There is nothing that we need to do here
+        if (args.length == 0) {
+            return;
+        }
+        Random rnd = args.length > 1
+            ? new Random(Long.parseLong(args[1]))
+            : new Random();
+        Writer out = new BufferedWriter(new OutputStreamWriter(
+            new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8),
+            OUTPUT_CHARS);
+        try (FileChannel in = FileChannel.open(Paths.get(args[0]))) {
+            new CommandProcessor(new WorldDB(rnd), out).run(in);
+        }
+        finally {
+            out.flush();
+        }
     }
 }
@@ -6,7 +6,8 @@
  */
 public abstract class AirObject implements Comparable<AirObject> {
     private final String name;
-    private final BoundingBox box;
+    private BoundingBox box;
+    private String rendered;
 
     /**
      * Creates a new air object.
@@ -103,6 +104,25 @@ public abstract class AirObject implements Comparable<AirObject> {
     }
 
 
+    /**
+     * Moves the object to a new origin, keeping its widths. Only the
+     * database that stores the object may call this, since the spatial
+     * index must be told about the old box.
+     *
+     * @param x
+     *            new x origin
+     * @param y
+     *            new y origin
+     * @param z
+     *            new z origin
+     */
+    void relocate(int x, int y, int z) {
+        box = new BoundingBox(x, y, z, box.getXWidth(), box.getYWidth(), box
+            .getZWidth());
+        rendered = null;
+    }
+
+
     /**
      * @return the type name prefix used in the toString output
      */
@@ -113,9 +133,49 @@ public abstract class AirObject implements Comparable<AirObject> {
      * @return formatted prefix shared among all subclasses
      */
     protected String baseInfo() {
-        return typePrefix() + " " + name + " " + box.getX() + " " + box.getY()
-            + " " + box.getZ() + " " + box.getXWidth() + " " + box.getYWidth()
-            + " " + box.getZWidth();
+        StringBuilder out = new StringBuilder(64);
+        appendBase(out);
+        return out.toString();
+    }
+
+
+    /**
+     * Appends the type-specific fields that follow the shared prefix, each
+     * preceded by a space.
+     *
+     * @param out
+     *            buffer to append to
+     */
+    protected abstract void appendDetails(StringBuilder out);
+
+
+    /**
+     * Returns the report line for this object. Objects never change except
+     * through {@link #relocate}, so the line is built once, on first use,
+     * and kept until the object moves. Concurrent first calls may each
+     * build it; they build equal Strings, so either may be kept.
+     *
+     * @return the report line
+     */
+    @Override
+    public String toString() {
+        String line = rendered;
+        if (line == null) {
+            StringBuilder out = new StringBuilder(64);
+            appendBase(out);
+            appendDetails(out);
+            line = out.toString();
+            rendered = line;
+        }
+        return line;
+    }
+
+
+    private void appendBase(StringBuilder out) {
+        out.append(typePrefix()).append(' ').append(name).append(' ').append(
+            box.getX()).append(' ').append(box.getY()).append(' ').append(box
+                .getZ()).append(' ').append(box.getXWidth()).append(' ')
+            .append(box.getYWidth()).append(' ').append(box.getZWidth());
     }
 
 
@@ -0,0 +1,431 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-layout binary encoding of an {@link AirObject}, and a reusable
+ * flyweight view that reads one encoded record in place.
+ * <p>
+ * Every kind of object shares one layout, big-endian, with the numeric
+ * fields at fixed offsets and the two strings at the end:
+ * <pre>
+ *   0  int     record length in bytes
+ *   4  int     kind: 0 airplane, 1 balloon, 2 bird, 3 drone, 4 rocket
+ *   8  int[6]  x, y, z origin and x, y, z width
+ *  32  int     flight number, ascent rate, bird count or drone engines
+ *  36  int     airplane engine count, else 0
+ *  40  double  rocket trajectory, else 0
+ *  48  int     UTF-8 length of the name, -1 for null
+ *  52  int     UTF-8 length of the carrier, type, species or brand,
+ *              -1 for null or none
+ *  56  bytes   name, then the second string
+ * </pre>
+ * Because the offsets do not depend on the kind, a view answers position,
+ * box and field queries with single absolute reads and never decodes the
+ * strings unless asked. {@link #toAirObject()} builds the heap object only
+ * when one is needed.
+ * <p>
+ * Strings are encoded to UTF-8 straight into the destination buffer, with
+ * unpaired surrogates replaced by '?' as {@link String#getBytes} does.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+final class AirObjectRecord {
+    /** Kind code of an {@link AirPlane}. */
+    static final int AIRPLANE = 0;
+    /** Kind code of a {@link Balloon}. */
+    static final int BALLOON = 1;
+    /** Kind code of a {@link Bird}. */
+    static final int BIRD = 2;
+    /** Kind code of a {@link Drone}. */
+    static final int DRONE = 3;
+    /** Kind code of a {@link Rocket}. */
+    static final int ROCKET = 4;
+    /** Bytes before the strings. */
+    static final int HEADER_BYTES = 56;
+
+    private static final int LENGTH = 0;
+    private static final int KIND = 4;
+    private static final int X = 8;
+    private static final int Y = 12;
+    private static final int Z = 16;
+    private static final int X_WIDTH = 20;
+    private static final int Y_WIDTH = 24;
+    private static final int Z_WIDTH = 28;
+    private static final int FIRST = 32;
+    private static final int SECOND = 36;
+    private static final int TRAJECTORY = 40;
+    private static final int NAME_LENGTH = 48;
+    private static final int DETAIL_LENGTH = 52;
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    /**
+     * Creates a view that is not yet over any record.
+     */
+    AirObjectRecord() {
+        buffer = null;
+        offset = 0;
+    }
+
+
+    /**
+     * Points this view at the record starting at the given offset. Nothing
+     * is read or copied.
+     *
+     * @param source
+     *            buffer holding the record
+     * @param start
+     *            absolute offset of the record in the buffer
+     * @return this view
+     */
+    AirObjectRecord wrap(ByteBuffer source, int start) {
+        buffer = source;
+        offset = start;
+        return this;
+    }
+
+
+    /**
+     * @return the size of the record in bytes
+     */
+    int length() {
+        return buffer.getInt(offset + LENGTH);
+    }
+
+
+    /**
+     * @return the kind code
+     */
+    int kind() {
+        return buffer.getInt(offset + KIND);
+    }
+
+
+    /**
+     * @return x origin
+     */
+    int x() {
+        return buffer.getInt(offset + X);
+    }
+
+
+    /**
+     * @return y origin
+     */
+    int y() {
+        return buffer.getInt(offset + Y);
+    }
+
+
+    /**
+     * @return z origin
+     */
+    int z() {
+        return buffer.getInt(offset + Z);
+    }
+
+
+    /**
+     * @return x width
+     */
+    int xWidth() {
+        return buffer.getInt(offset + X_WIDTH);
+    }
+
+
+    /**
+     * @return y width
+     */
+    int yWidth() {
+        return buffer.getInt(offset + Y_WIDTH);
+    }
+
+
+    /**
+     * @return z width
+     */
+    int zWidth() {
+        return buffer.getInt(offset + Z_WIDTH);
+    }
+
+
+    /**
+     * @return the decoded name
+     */
+    String name() {
+        return decode(offset + HEADER_BYTES, buffer.getInt(offset
+            + NAME_LENGTH));
+    }
+
+
+    /**
+     * Materializes the record as a heap object.
+     *
+     * @return the decoded AirObject
+     * @throws IllegalArgumentException
+     *             if the kind code is unknown
+     */
+    AirObject toAirObject() {
+        String name = name();
+        int x = x();
+        int y = y();
+        int z = z();
+        int xw = xWidth();
+        int yw = yWidth();
+        int zw = zWidth();
+        int first = buffer.getInt(offset + FIRST);
+        int kind = kind();
+        if (kind == ROCKET) {
+            return new Rocket(name, x, y, z, xw, yw, zw, first, buffer
+                .getDouble(offset + TRAJECTORY));
+        }
+        int nameLength = Math.max(0, buffer.getInt(offset + NAME_LENGTH));
+        String detail = decode(offset + HEADER_BYTES + nameLength, buffer
+            .getInt(offset + DETAIL_LENGTH));
+        switch (kind) {
+            case AIRPLANE:
+                return new AirPlane(name, x, y, z, xw, yw, zw, detail, first,
+                    buffer.getInt(offset + SECOND));
+            case BALLOON:
+                return new Balloon(name, x, y, z, xw, yw, zw, detail, first);
+            case BIRD:
+                return new Bird(name, x, y, z, xw, yw, zw, detail, first);
+            case DRONE:
+                return new Drone(name, x, y, z, xw, yw, zw, detail, first);
+            default:
+                throw new IllegalArgumentException("unknown record kind "
+                    + kind);
+        }
+    }
+
+
+    // ----------------------------------------------------------
+    /**
+     * Computes the encoded size of an object without encoding it.
+     *
+     * @param obj
+     *            object to measure
+     * @return the record size in bytes
+     * @throws IllegalArgumentException
+     *             if the object is not one of the five kinds
+     */
+    static int size(AirObject obj) {
+        kindOf(obj);
+        return HEADER_BYTES + Math.max(0, utf8Length(obj.getName()))
+            + Math.max(0, utf8Length(detailOf(obj)));
+    }
+
+
+    /**
+     * Encodes an object at the current position of a buffer, which must
+     * have {@link #size(AirObject)} bytes remaining.
+     *
+     * @param out
+     *            destination, advanced past the record
+     * @param obj
+     *            object to encode
+     * @return the record size in bytes
+     * @throws IllegalArgumentException
+     *             if the object is not one of the five kinds
+     */
+    static int write(ByteBuffer out, AirObject obj) {
+        int kind = kindOf(obj);
+        String detail = detailOf(obj);
+        int nameLength = utf8Length(obj.getName());
+        int detailLength = utf8Length(detail);
+        int length = HEADER_BYTES + Math.max(0, nameLength) + Math.max(0,
+            detailLength);
+        int first = 0;
+        int second = 0;
+        double trajectory = 0;
+        switch (kind) {
+            case AIRPLANE:
+                first = ((AirPlane)obj).getFlightNumber();
+                second = ((AirPlane)obj).getEngineCount();
+                break;
+            case BALLOON:
+                first = ((Balloon)obj).getAscentRate();
+                break;
+            case BIRD:
+                first = ((Bird)obj).getNumber();
+                break;
+            case DRONE:
+                first = ((Drone)obj).getEngineCount();
+                break;
+            default:
+                first = ((Rocket)obj).getAscentRate();
+                trajectory = ((Rocket)obj).getTrajectory();
+        }
+        out.putInt(length).putInt(kind);
+        out.putInt(obj.getXorig()).putInt(obj.getYorig()).putInt(obj
+            .getZorig()).putInt(obj.getXwidth()).putInt(obj.getYwidth())
+            .putInt(obj.getZwidth());
+        out.putInt(first).putInt(second).putDouble(trajectory);
+        out.putInt(nameLength).putInt(detailLength);
+        encode(out, obj.getName());
+        encode(out, detail);
+        return length;
+    }
+
+
+    /**
+     * @return bytes {@link #putString} needs for a value
+     */
+    static int stringSize(String value) {
+        return Integer.BYTES + Math.max(0, utf8Length(value));
+    }
+
+
+    /**
+     * Writes a string as its UTF-8 length (-1 for null) followed by the
+     * bytes.
+     *
+     * @param out
+     *            destination, advanced past the string
+     * @param value
+     *            string to write
+     */
+    static void putString(ByteBuffer out, String value) {
+        out.putInt(utf8Length(value));
+        encode(out, value);
+    }
+
+
+    /**
+     * Reads a string written by {@link #putString}.
+     *
+     * @param in
+     *            source, advanced past the string
+     * @return the string, or null
+     */
+    static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    // ----------------------------------------------------------
+    private String decode(int start, int length) {
+        if (length < 0) {
+            return null;
+        }
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start,
+                length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(start);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    private static int kindOf(AirObject obj) {
+        if (obj instanceof AirPlane) {
+            return AIRPLANE;
+        }
+        if (obj instanceof Balloon) {
+            return BALLOON;
+        }
+        if (obj instanceof Bird) {
+            return BIRD;
+        }
+        if (obj instanceof Drone) {
+            return DRONE;
+        }
+        if (obj instanceof Rocket) {
+            return ROCKET;
+        }
+        throw new IllegalArgumentException("cannot encode " + (obj == null
+            ? "null"
+            : obj.getClass().getName()));
+    }
+
+
+    private static String detailOf(AirObject obj) {
+        if (obj instanceof AirPlane) {
+            return ((AirPlane)obj).getCarrier();
+        }
+        if (obj instanceof Balloon) {
+            return ((Balloon)obj).getType();
+        }
+        if (obj instanceof Bird) {
+            return ((Bird)obj).getSpecies();
+        }
+        if (obj instanceof Drone) {
+            return ((Drone)obj).getBrand();
+        }
+        return null;
+    }
+
+
+    /**
+     * @return UTF-8 length of a string, or -1 for null
+     */
+    private static int utf8Length(String value) {
+        if (value == null) {
+            return -1;
+        }
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                }
+                else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+            else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+
+
+    private static void encode(ByteBuffer out, String value) {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte)c);
+            }
+            else if (c < 0x800) {
+                out.put((byte)(0xC0 | c >> 6));
+                out.put((byte)(0x80 | c & 0x3F));
+            }
+            else if (!Character.isSurrogate(c)) {
+                out.put((byte)(0xE0 | c >> 12));
+                out.put((byte)(0x80 | c >> 6 & 0x3F));
+                out.put((byte)(0x80 | c & 0x3F));
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < length
+                && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int code = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte)(0xF0 | code >> 18));
+                out.put((byte)(0x80 | code >> 12 & 0x3F));
+                out.put((byte)(0x80 | code >> 6 & 0x3F));
+                out.put((byte)(0x80 | code & 0x3F));
+            }
+            else {
+                out.put((byte)'?');
+            }
+        }
+    }
+}
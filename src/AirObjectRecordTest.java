@@ -0,0 +1,121 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import student.TestCase;
+
+/**
+ * Tests for {@link AirObjectRecord}.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class AirObjectRecordTest extends TestCase {
+    private AirObject[] objects;
+
+    /**
+     * Builds one object of every kind, with awkward strings.
+     */
+    public void setUp() {
+        objects = new AirObject[5];
+        objects[0] = new AirPlane("Air1", 0, 10, 1, 20, 2, 30, "USAir", 717,
+            4);
+        objects[1] = new Balloon("B\u00e9b\u00e9", 10, 11, 11, 21, 12, 31,
+            null, 15);
+        objects[2] = new Bird("\u9ce5\ud83d\udc26", 0, 100, 20, 10, 50, 50,
+            "Dinosaur", 1);
+        objects[3] = new Drone(null, 100, 1010, 101, 924, 2, 900, "", 3);
+        objects[4] = new Rocket("Enterprise", 0, 100, 20, 10, 50, 50, 5000,
+            99.29);
+    }
+
+
+    /**
+     * Records written back to back in heap and direct buffers decode to
+     * equal objects, and the view reads every fixed field in place.
+     */
+    public void testRoundTrip() {
+        ByteBuffer[] buffers = { ByteBuffer.allocate(1024), ByteBuffer
+            .allocateDirect(1024) };
+        for (ByteBuffer buffer : buffers) {
+            int[] offsets = new int[objects.length];
+            for (int i = 0; i < objects.length; i++) {
+                offsets[i] = buffer.position();
+                int size = AirObjectRecord.write(buffer, objects[i]);
+                assertEquals(AirObjectRecord.size(objects[i]), size);
+                assertEquals(offsets[i] + size, buffer.position());
+            }
+            AirObjectRecord view = new AirObjectRecord();
+            for (int i = 0; i < objects.length; i++) {
+                AirObject obj = objects[i];
+                view.wrap(buffer, offsets[i]);
+                assertEquals(i, view.kind());
+                assertEquals(obj.getXorig(), view.x());
+                assertEquals(obj.getYorig(), view.y());
+                assertEquals(obj.getZorig(), view.z());
+                assertEquals(obj.getXwidth(), view.xWidth());
+                assertEquals(obj.getYwidth(), view.yWidth());
+                assertEquals(obj.getZwidth(), view.zWidth());
+                assertEquals(obj.getName(), view.name());
+                AirObject decoded = view.toAirObject();
+                assertEquals(obj.getClass(), decoded.getClass());
+                assertEquals(obj.toString(), decoded.toString());
+            }
+        }
+    }
+
+
+    /**
+     * Strings take their UTF-8 size, with unpaired surrogates written as
+     * '?' the way String.getBytes writes them.
+     */
+    public void testStrings() {
+        String[] values = { null, "", "ascii", "\u00e9\u0800\uffff",
+            "\ud83d\udc26", "lone\ud800", "\udc00x" };
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        for (String value : values) {
+            buffer.clear();
+            AirObjectRecord.putString(buffer, value);
+            assertEquals(AirObjectRecord.stringSize(value), buffer
+                .position());
+            if (value != null) {
+                assertEquals(value.getBytes(StandardCharsets.UTF_8).length
+                    + Integer.BYTES, buffer.position());
+            }
+            buffer.flip();
+            String read = AirObjectRecord.getString(buffer);
+            assertEquals(value == null
+                ? null
+                : new String(value.getBytes(StandardCharsets.UTF_8),
+                    StandardCharsets.UTF_8), read);
+        }
+    }
+
+
+    /**
+     * A record at an unaligned offset stays readable, and unknown kinds are
+     * refused.
+     */
+    public void testOffsetAndBadKinds() {
+        ByteBuffer source = ByteBuffer.allocate(256);
+        source.put(new byte[7]);
+        AirObjectRecord.write(source, objects[0]);
+        AirObjectRecord view = new AirObjectRecord().wrap(source, 7);
+        assertEquals(objects[0].toString(), view.toAirObject().toString());
+        source.putInt(7 + 4, 9);
+        Exception thrown = null;
+        try {
+            view.toAirObject();
+        }
+        catch (IllegalArgumentException e) {
+            thrown = e;
+        }
+        assertNotNull(thrown);
+        thrown = null;
+        try {
+            AirObjectRecord.size(null);
+        }
+        catch (IllegalArgumentException e) {
+            thrown = e;
+        }
+        assertNotNull(thrown);
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Skip list implementation for AirObject instances.
@@ -13,16 +14,27 @@ import java.util.Random;
  * @version 2025-11-26
  */
 public class AirObjectSkipList {
-    private static final int MAX_LEVEL = 32;
-    private final Random random;
+    /** Number of levels used unless a constructor is given another. */
+    static final int DEFAULT_MAX_LEVEL = 32;
+    private static final int LEVEL_LIMIT = 64;
+    private final LevelGenerator levels;
+    private final int maxLevel;
+    private final Node[] update;
     private final Node head;
+    private NameIndex index;
     private int currentLevel;
     private int size;
+    private int modCount;
 
     /**
-     * Node definition.
+     * Node definition. Besides the object, a node keeps its name and the
+     * name's {@link #prefix(String)}, so walking a level compares a long
+     * held in the node itself and reaches for the name's characters only
+     * when two prefixes tie.
      */
     private static class Node {
+        private final long prefix;
+        private final String key;
         private final AirObject value;
         private final Node[] forward;
         private final int level;
@@ -30,24 +42,351 @@ public class AirObjectSkipList {
         Node(int nodeLevel, AirObject obj) {
             level = nodeLevel;
             value = obj;
+            key = obj == null ? null : obj.getName();
+            prefix = key == null ? Long.MIN_VALUE : prefix(key);
             forward = new Node[nodeLevel + 1];
         }
 
 
-        String key() {
-            return value == null ? null : value.getName();
+        /**
+         * Compares this node's name with a key whose prefix is given.
+         */
+        int compareTo(String other, long otherPrefix) {
+            if (prefix != otherPrefix) {
+                return prefix < otherPrefix ? -1 : 1;
+            }
+            return key.compareTo(other);
+        }
+
+
+        /**
+         * Tells whether this node's name sorts before a key whose prefix is
+         * given.
+         */
+        boolean before(String other, long otherPrefix) {
+            return prefix < otherPrefix || prefix == otherPrefix && key
+                .compareTo(other) < 0;
+        }
+    }
+
+    /**
+     * Open-addressing hash table from name to node, probed linearly. It
+     * keeps each node's name hash beside it so probing rarely touches a
+     * String, stays at most half full, and closes the gap left by a removal
+     * by shifting later entries of the probe run back, so it needs no
+     * tombstones.
+     */
+    private static final class NameIndex {
+        private static final int MIN_CAPACITY = 16;
+        private Node[] nodes;
+        private int[] hashes;
+        private int shift;
+        private int count;
+
+        NameIndex(int expected) {
+            int capacity = MIN_CAPACITY;
+            while (capacity < 2 * expected) {
+                capacity <<= 1;
+            }
+            allocate(capacity);
+        }
+
+
+        Node get(String key) {
+            int hash = key.hashCode();
+            int mask = nodes.length - 1;
+            for (int i = slot(hash); nodes[i] != null; i = (i + 1) & mask) {
+                if (hashes[i] == hash && nodes[i].key.equals(key)) {
+                    return nodes[i];
+                }
+            }
+            return null;
+        }
+
+
+        /**
+         * Adds a node whose name is not in the table yet.
+         */
+        void put(Node node) {
+            if (2 * (count + 1) > nodes.length) {
+                Node[] oldNodes = nodes;
+                int[] oldHashes = hashes;
+                allocate(2 * oldNodes.length);
+                for (int i = 0; i < oldNodes.length; i++) {
+                    if (oldNodes[i] != null) {
+                        place(oldNodes[i], oldHashes[i]);
+                    }
+                }
+            }
+            place(node, node.key.hashCode());
+            count++;
+        }
+
+
+        void remove(Node node) {
+            int mask = nodes.length - 1;
+            int gap = slot(node.key.hashCode());
+            while (nodes[gap] != node) {
+                gap = (gap + 1) & mask;
+            }
+            for (int i = (gap + 1) & mask; nodes[i] != null; i = (i + 1)
+                & mask) {
+                if (((i - slot(hashes[i])) & mask) >= ((i - gap) & mask)) {
+                    nodes[gap] = nodes[i];
+                    hashes[gap] = hashes[i];
+                    gap = i;
+                }
+            }
+            nodes[gap] = null;
+            count--;
+        }
+
+
+        private void place(Node node, int hash) {
+            int mask = nodes.length - 1;
+            int i = slot(hash);
+            while (nodes[i] != null) {
+                i = (i + 1) & mask;
+            }
+            nodes[i] = node;
+            hashes[i] = hash;
+        }
+
+
+        private void allocate(int capacity) {
+            nodes = new Node[capacity];
+            hashes = new int[capacity];
+            shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        }
+
+
+        /**
+         * Home slot of a hash: the top bits of the hash times the golden
+         * ratio, which spreads names that differ only in their last
+         * characters.
+         */
+        private int slot(int hash) {
+            return (hash * 0x9E3779B9) >>> shift;
+        }
+    }
+
+    /**
+     * Finger for searches that start where the previous one ended. It
+     * keeps, for each level, the last node before the previous key; a new
+     * key climbs from the bottom only as far as it must before descending
+     * again, so looking up keys close to each other (most of all, keys in
+     * ascending order) costs far less than a descent from the head. Any
+     * insert or remove makes the finger start over from the head.
+     * <p>
+     * A finger belongs to one caller. Searches through it do not change
+     * the list, so several fingers may read the list at once.
+     */
+    public final class Finger {
+        private final Node[] path;
+        private int expectedModCount;
+
+        private Finger() {
+            path = new Node[maxLevel];
+            reset();
+        }
+
+
+        /**
+         * Searches for an object by name, starting from the previous
+         * search's position.
+         *
+         * @param name
+         *            target name
+         * @return the matching object or null
+         */
+        public AirObject search(String name) {
+            if (name == null) {
+                return null;
+            }
+            if (index != null) {
+                Node node = index.get(name);
+                return node == null ? null : node.value;
+            }
+            long namePrefix = prefix(name);
+            Node node = seek(name, namePrefix).forward[0];
+            return node != null && node.compareTo(name, namePrefix) == 0
+                ? node.value
+                : null;
+        }
+
+
+        /**
+         * Moves the finger to a key.
+         *
+         * @return the last node before the key
+         */
+        private Node seek(String key, long keyPrefix) {
+            if (expectedModCount != modCount) {
+                reset();
+            }
+            int lvl = 0;
+            while (lvl <= currentLevel && path[lvl] != head && !path[lvl]
+                .before(key, keyPrefix)) {
+                lvl++;
+            }
+            Node current = head;
+            if (lvl > currentLevel) {
+                lvl = currentLevel;
+            }
+            else {
+                while (lvl < currentLevel) {
+                    Node next = path[lvl + 1].forward[lvl + 1];
+                    if (next == null || !next.before(key, keyPrefix)) {
+                        break;
+                    }
+                    lvl++;
+                }
+                current = path[lvl];
+            }
+            for (int i = lvl; i >= 0; i--) {
+                current = walkForward(current, i, key, keyPrefix);
+                path[i] = current;
+            }
+            return current;
+        }
+
+
+        private void reset() {
+            for (int i = 0; i < path.length; i++) {
+                path[i] = head;
+            }
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Cursor over the names within a range, handing out objects a page at
+     * a time. Between pages it remembers the last name it returned; if the
+     * list was changed in the meantime (including by the visitor), it
+     * finds its place again after that name through its {@link Finger},
+     * so inserts and removes never make it skip or repeat an object.
+     */
+    public final class Cursor {
+        private final Finger finger;
+        private final String end;
+        private final long endPrefix;
+        private String from;
+        private String last;
+        private Node next;
+        private boolean positioned;
+        private int expectedModCount;
+
+        private Cursor(String start, String end) {
+            finger = new Finger();
+            this.end = start == null ? null : end;
+            endPrefix = this.end == null ? 0 : prefix(this.end);
+            from = start;
+        }
+
+
+        /**
+         * Visits the next objects in name order.
+         *
+         * @param count
+         *            most objects to visit
+         * @param visitor
+         *            visitor invoked for each object
+         * @return the number of objects visited, 0 once the range is done
+         */
+        public int next(int count, Visitor visitor) {
+            int visited = 0;
+            while (visited < count && hasNext()) {
+                Node node = next;
+                last = node.key;
+                visitor.visit(node.value);
+                visited++;
+                if (expectedModCount == modCount) {
+                    next = node.forward[0];
+                }
+            }
+            return visited;
+        }
+
+
+        /**
+         * @return whether another object in the range remains
+         */
+        public boolean hasNext() {
+            if (end == null) {
+                return false;
+            }
+            if (!positioned || expectedModCount != modCount) {
+                String key = last == null ? from : last;
+                long keyPrefix = prefix(key);
+                next = finger.seek(key, keyPrefix).forward[0];
+                if (last != null && next != null && next.compareTo(key,
+                    keyPrefix) == 0) {
+                    next = next.forward[0];
+                }
+                positioned = true;
+                expectedModCount = modCount;
+            }
+            return next != null && next.compareTo(end, endPrefix) <= 0;
+        }
+
+
+        /**
+         * Moves the cursor, forward or back, to the first name not below a
+         * key, keeping the end of the range.
+         *
+         * @param name
+         *            new start of the range (non-null)
+         */
+        public void seek(String name) {
+            from = name;
+            last = null;
+            positioned = false;
         }
     }
 
     /**
-     * Constructs a skip list using the provided random number generator.
+     * Constructs a skip list using the provided random number generator,
+     * drawing levels exactly as earlier versions did (see
+     * {@link #legacyLevels(Random)}).
      *
      * @param rnd
      *            random source (non-null)
      */
     public AirObjectSkipList(Random rnd) {
-        random = rnd;
-        head = new Node(MAX_LEVEL - 1, null);
+        this(legacyLevels(rnd));
+    }
+
+
+    /**
+     * Constructs a skip list that draws node levels from a generator.
+     *
+     * @param generator
+     *            level source (non-null)
+     */
+    public AirObjectSkipList(LevelGenerator generator) {
+        this(generator, DEFAULT_MAX_LEVEL);
+    }
+
+
+    /**
+     * Constructs a skip list with a given number of levels. Lists much
+     * longer than 1/p to the power maxLevels lose the logarithmic bound on
+     * search length, so fewer levels suit small lists or a small p.
+     *
+     * @param generator
+     *            level source (non-null)
+     * @param maxLevels
+     *            number of levels, from 1 to 64
+     */
+    public AirObjectSkipList(LevelGenerator generator, int maxLevels) {
+        if (maxLevels < 1 || maxLevels > LEVEL_LIMIT) {
+            throw new IllegalArgumentException("levels must be 1 to "
+                + LEVEL_LIMIT + ": " + maxLevels);
+        }
+        levels = generator;
+        maxLevel = maxLevels;
+        update = new Node[maxLevels];
+        head = new Node(maxLevels - 1, null);
         currentLevel = 0;
         size = 0;
     }
@@ -60,8 +399,45 @@ public class AirObjectSkipList {
         for (int i = 0; i < head.forward.length; i++) {
             head.forward[i] = null;
         }
+        if (index != null) {
+            index = new NameIndex(0);
+        }
         currentLevel = 0;
         size = 0;
+        modCount++;
+    }
+
+
+    /**
+     * Turns the name index on or off. While it is on, a hash table from
+     * name to node answers {@link #search(String)} in expected constant
+     * time, and lets insert and remove reject duplicate and missing names
+     * without descending the list; ordered operations still walk the list.
+     * The index costs about two array slots per object and is kept in step
+     * by every operation. Turning it on indexes the current contents.
+     *
+     * @param enabled
+     *            whether to keep the index
+     */
+    public void indexNames(boolean enabled) {
+        if (!enabled) {
+            index = null;
+        }
+        else if (index == null) {
+            index = new NameIndex(size);
+            for (Node node = head.forward[0]; node != null; node = node
+                .forward[0]) {
+                index.put(node);
+            }
+        }
+    }
+
+
+    /**
+     * @return whether the name index is on
+     */
+    public boolean indexesNames() {
+        return index != null;
     }
 
 
@@ -76,15 +452,19 @@ public class AirObjectSkipList {
         if (obj == null || obj.getName() == null) {
             return false;
         }
-        Node[] update = new Node[MAX_LEVEL];
-        Node current = head;
         String key = obj.getName();
+        if (index != null && index.get(key) != null) {
+            return false;
+        }
+        Node current = head;
+        long keyPrefix = prefix(key);
         for (int i = currentLevel; i >= 0; i--) {
-            current = walkForward(current, i, key);
+            current = walkForward(current, i, key, keyPrefix);
             update[i] = current;
         }
         current = current.forward[0];
-        if (current != null && key.equals(current.key())) {
+        if (current != null && current.compareTo(key, keyPrefix) == 0) {
+            releaseUpdate(currentLevel);
             return false;
         }
         int nodeLevel = randomLevel();
@@ -99,11 +479,99 @@ public class AirObjectSkipList {
             fresh.forward[i] = update[i].forward[i];
             update[i].forward[i] = fresh;
         }
+        if (index != null) {
+            index.put(fresh);
+        }
+        releaseUpdate(currentLevel);
         size++;
+        modCount++;
+        return true;
+    }
+
+
+    /**
+     * Loads an empty skip list from objects already in ascending name order,
+     * linking each new node behind the current tail of every level it spans
+     * instead of searching for its position.
+     *
+     * @param sorted
+     *            distinct objects in strictly ascending name order
+     * @param count
+     *            number of leading entries of sorted to load
+     * @return false (and nothing loaded) if the list is not empty
+     */
+    public boolean bulkLoad(AirObject[] sorted, int count) {
+        if (size != 0) {
+            return false;
+        }
+        byte[] levels = new byte[count];
+        for (int n = 0; n < count; n++) {
+            levels[n] = (byte)randomLevel();
+        }
+        link(sorted, levels, count);
         return true;
     }
 
 
+    /**
+     * Loads an empty skip list from objects already in ascending name order
+     * with the node levels recorded by {@link #levels()}, reproducing the
+     * saved structure exactly.
+     *
+     * @param sorted
+     *            distinct objects in strictly ascending name order
+     * @param levels
+     *            zero-based level of each node
+     * @param count
+     *            number of leading entries of sorted to load
+     * @return false (and nothing loaded) if the list is not empty
+     * @throws IllegalArgumentException
+     *             if a level lies outside [0, maxLevel)
+     */
+    boolean restore(AirObject[] sorted, byte[] levels, int count) {
+        if (size != 0) {
+            return false;
+        }
+        for (int n = 0; n < count; n++) {
+            if (levels[n] < 0 || levels[n] >= maxLevel) {
+                throw new IllegalArgumentException("Skiplist level "
+                    + levels[n] + " of node " + n + " is outside [0, "
+                    + maxLevel + ")");
+            }
+        }
+        link(sorted, levels, count);
+        return true;
+    }
+
+
+    /**
+     * @return every stored object, in name order
+     */
+    AirObject[] toArray() {
+        AirObject[] objects = new AirObject[size];
+        Node current = head.forward[0];
+        for (int n = 0; current != null; n++) {
+            objects[n] = current.value;
+            current = current.forward[0];
+        }
+        return objects;
+    }
+
+
+    /**
+     * @return the zero-based level of every node, in name order
+     */
+    byte[] levels() {
+        byte[] levels = new byte[size];
+        Node current = head.forward[0];
+        for (int n = 0; current != null; n++) {
+            levels[n] = (byte)current.level;
+            current = current.forward[0];
+        }
+        return levels;
+    }
+
+
     /**
      * Searches for an object by name.
      *
@@ -125,17 +593,18 @@ public class AirObjectSkipList {
      * @return removed object, or null if not found
      */
     public AirObject remove(String name) {
-        if (name == null) {
+        if (name == null || index != null && index.get(name) == null) {
             return null;
         }
-        Node[] update = new Node[MAX_LEVEL];
         Node current = head;
+        long namePrefix = prefix(name);
         for (int i = currentLevel; i >= 0; i--) {
-            current = walkForward(current, i, name);
+            current = walkForward(current, i, name, namePrefix);
             update[i] = current;
         }
         current = current.forward[0];
-        if (current == null || !name.equals(current.key())) {
+        if (current == null || current.compareTo(name, namePrefix) != 0) {
+            releaseUpdate(currentLevel);
             return null;
         }
         for (int i = 0; i <= current.level; i++) {
@@ -144,10 +613,15 @@ public class AirObjectSkipList {
             }
             update[i].forward[i] = current.forward[i];
         }
+        if (index != null) {
+            index.remove(current);
+        }
+        releaseUpdate(currentLevel);
         while (currentLevel > 0 && head.forward[currentLevel] == null) {
             currentLevel--;
         }
         size--;
+        modCount++;
         return current.value;
     }
 
@@ -182,17 +656,41 @@ public class AirObjectSkipList {
             return;
         }
         Node current = head;
+        long startPrefix = prefix(start);
         for (int i = currentLevel; i >= 0; i--) {
-            current = walkForward(current, i, start);
+            current = walkForward(current, i, start, startPrefix);
         }
         current = current.forward[0];
-        while (current != null && current.key().compareTo(end) <= 0) {
+        long endPrefix = prefix(end);
+        while (current != null && current.compareTo(end, endPrefix) <= 0) {
             visitor.visit(current.value);
             current = current.forward[0];
         }
     }
 
 
+    /**
+     * Opens a cursor over the objects whose names are within [start, end].
+     *
+     * @param start
+     *            start key (inclusive)
+     * @param end
+     *            end key (inclusive)
+     * @return the cursor, empty if either key is null
+     */
+    public Cursor cursor(String start, String end) {
+        return new Cursor(start, end);
+    }
+
+
+    /**
+     * @return a new finger, starting at the head
+     */
+    public Finger finger() {
+        return new Finger();
+    }
+
+
     /**
      * Prints the skip list in the assignment format.
      *
@@ -202,15 +700,32 @@ public class AirObjectSkipList {
         if (size == 0) {
             return "SkipList is empty";
         }
-        StringBuilder builder = new StringBuilder();
-        appendNode(builder, head);
+        ReportSink.Collector collector = new ReportSink.Collector();
+        formatStructure(collector);
+        return collector.toString();
+    }
+
+
+    /**
+     * Streams the skip list listing to a sink, one line per call.
+     *
+     * @param sink
+     *            receiver of the listing lines
+     */
+    public void formatStructure(ReportSink sink) {
+        if (size == 0) {
+            sink.line("SkipList is empty");
+            return;
+        }
+        ReportBuffer out = new ReportBuffer(sink);
+        appendNode(out, head);
         Node current = head.forward[0];
         while (current != null) {
-            appendNode(builder, current);
+            appendNode(out, current);
             current = current.forward[0];
         }
-        builder.append(size).append(" skiplist nodes printed\r\n");
-        return builder.toString();
+        out.line().append(size).append(" skiplist nodes printed");
+        out.endLine();
     }
 
 
@@ -238,29 +753,67 @@ public class AirObjectSkipList {
         if (name == null) {
             return null;
         }
+        if (index != null) {
+            return index.get(name);
+        }
         Node current = head;
+        long namePrefix = prefix(name);
         for (int i = currentLevel; i >= 0; i--) {
-            current = walkForward(current, i, name);
+            current = walkForward(current, i, name, namePrefix);
         }
         current = current.forward[0];
-        if (current != null && name.equals(current.key())) {
+        if (current != null && current.compareTo(name, namePrefix) == 0) {
             return current;
         }
         return null;
     }
 
 
-    private void appendNode(StringBuilder builder, Node node) {
+    private void appendNode(ReportBuffer out, Node node) {
         int depth = node == head ? currentLevel : node.level;
+        StringBuilder builder = out.line();
         builder.append("Node has depth ").append(depth + 1).append(", Value (");
         builder.append(node.value == null ? "null" : node.value.toString());
-        builder.append(")\r\n");
+        builder.append(")");
+        out.endLine();
     }
 
 
-    private Node walkForward(Node current, int level, String key) {
+    /**
+     * Links nodes for the given objects and levels behind the current tail
+     * of every level they span.
+     */
+    private void link(AirObject[] sorted, byte[] levels, int count) {
+        Node[] tails = new Node[maxLevel];
+        for (int i = 0; i < maxLevel; i++) {
+            tails[i] = head;
+        }
+        for (int n = 0; n < count; n++) {
+            int nodeLevel = levels[n];
+            if (nodeLevel > currentLevel) {
+                currentLevel = nodeLevel;
+            }
+            Node fresh = new Node(nodeLevel, sorted[n]);
+            for (int i = 0; i <= nodeLevel; i++) {
+                tails[i].forward[i] = fresh;
+                tails[i] = fresh;
+            }
+            if (index != null) {
+                index.put(fresh);
+            }
+        }
+        size = count;
+        modCount++;
+    }
+
+
+    private Node walkForward(
+        Node current,
+        int level,
+        String key,
+        long keyPrefix) {
         Node next = current.forward[level];
-        while (next != null && next.key().compareTo(key) < 0) {
+        while (next != null && next.before(key, keyPrefix)) {
             current = next;
             next = current.forward[level];
         }
@@ -268,12 +821,146 @@ public class AirObjectSkipList {
     }
 
 
+    /**
+     * Packs the first eight characters of a name into a long, one byte
+     * each from the top, padding short names with zero bytes, and flips the
+     * sign bit so that plain signed comparison orders the bytes. A
+     * character of 0xFF or above is stored as 0xFF and ends the packing, so
+     * the order of two prefixes never contradicts {@link String#compareTo}
+     * and equal prefixes leave the full compare to decide.
+     *
+     * @param key
+     *            name (non-null)
+     * @return the prefix
+     */
+    static long prefix(String key) {
+        long packed = 0;
+        int shift = Long.SIZE - Byte.SIZE;
+        int count = Math.min(key.length(), Long.BYTES);
+        for (int i = 0; i < count; i++, shift -= Byte.SIZE) {
+            char c = key.charAt(i);
+            if (c >= 0xFF) {
+                return (packed | 0xFFL << shift) ^ Long.MIN_VALUE;
+            }
+            packed |= (long)c << shift;
+        }
+        return packed ^ Long.MIN_VALUE;
+    }
+
+
     private int randomLevel() {
-        int lvl = 0;
-        while (lvl < MAX_LEVEL - 1 && (random.nextInt() & 1) == 0) {
-            lvl++;
+        return levels.nextLevel(maxLevel - 1);
+    }
+
+
+    /**
+     * Drops the update buffer's references up to a level, so the reused
+     * buffer does not keep removed nodes reachable.
+     */
+    private void releaseUpdate(int top) {
+        for (int i = 0; i <= top; i++) {
+            update[i] = null;
         }
-        return lvl;
+    }
+
+
+    /**
+     * Level generator that draws one {@link Random#nextInt()} per level and
+     * promotes while its low bit is 0. Seeded with the same value, it gives
+     * the same levels, and so the same printskiplist output, as every
+     * earlier version of this class. Random is thread-safe, so one instance
+     * may be shared, at the cost of contention on its seed.
+     *
+     * @param rnd
+     *            random source (non-null)
+     * @return the generator
+     */
+    public static LevelGenerator legacyLevels(Random rnd) {
+        return new LevelGenerator() {
+            @Override
+            public int nextLevel(int maxLevel) {
+                int lvl = 0;
+                while (lvl < maxLevel && (rnd.nextInt() & 1) == 0) {
+                    lvl++;
+                }
+                return lvl;
+            }
+        };
+    }
+
+
+    /**
+     * Level generator that draws a single 64-bit value from a
+     * {@link SplittableRandom} per node and takes its number of trailing
+     * zero bits as the level, which has the same distribution as flipping
+     * one coin per level. The sequence is fixed by the seed, so output stays
+     * reproducible, but it differs from {@link #legacyLevels(Random)}. The
+     * generator is not thread-safe; give each skip list its own.
+     *
+     * @param seed
+     *            seed of the random source
+     * @return the generator
+     */
+    public static LevelGenerator fastLevels(long seed) {
+        return fastLevels(seed, 0.5);
+    }
+
+
+    /**
+     * Level generator with promotion probability p, drawing one 64-bit
+     * value per node. For p = 1/2 and p = 1/4 the level is the number of
+     * trailing zero bits, or half of it; any other p takes the logarithm of
+     * a uniform value in (0, 1] to base p, which gives the same geometric
+     * distribution. A smaller p means fewer forward pointers per node
+     * (1 / (1 - p) on average) and longer searches along each level.
+     *
+     * @param seed
+     *            seed of the random source
+     * @param p
+     *            probability that a node reaching one level also reaches
+     *            the next, strictly between 0 and 1
+     * @return the generator
+     */
+    public static LevelGenerator fastLevels(long seed, double p) {
+        if (!(p > 0 && p < 1)) {
+            throw new IllegalArgumentException("p must be in (0, 1): " + p);
+        }
+        SplittableRandom source = new SplittableRandom(seed);
+        if (p == 0.5 || p == 0.25) {
+            int shift = p == 0.5 ? 0 : 1;
+            return new LevelGenerator() {
+                @Override
+                public int nextLevel(int maxLevel) {
+                    return Math.min(Long.numberOfTrailingZeros(source
+                        .nextLong()) >> shift, maxLevel);
+                }
+            };
+        }
+        double scale = 1 / Math.log(p);
+        return new LevelGenerator() {
+            @Override
+            public int nextLevel(int maxLevel) {
+                double uniform = ((source.nextLong() >>> 11) + 1) * 0x1.0p-53;
+                return (int)Math.min(Math.log(uniform) * scale, maxLevel);
+            }
+        };
+    }
+
+    /**
+     * Source of node levels for a skip list.
+     */
+    public interface LevelGenerator {
+        /**
+         * Draws the level of a new node. Level k comes up with probability
+         * (1 - p) * p^k for the generator's promotion probability p, so
+         * 1/2, 1/4 and so on for p = 1/2, and every draw above maxLevel is
+         * reported as maxLevel.
+         *
+         * @param maxLevel
+         *            highest level the list supports
+         * @return a level from 0 to maxLevel
+         */
+        int nextLevel(int maxLevel);
     }
 
     /**
@@ -345,6 +345,380 @@ public class AirObjectSkipListTest extends TestCase {
     }
 
 
+    /**
+     * The legacy generator reproduces the Random constructor exactly, and
+     * the fast generator is reproducible from its seed, respects the level
+     * cap and promotes about half the nodes at each level.
+     */
+    public void testLevelGenerators() {
+        AirObjectSkipList legacy = new AirObjectSkipList(AirObjectSkipList
+            .legacyLevels(new Random(0xBEEF)));
+        AirObjectSkipList fast = new AirObjectSkipList(AirObjectSkipList
+            .fastLevels(0xBEEF));
+        AirObjectSkipList fastAgain = new AirObjectSkipList(AirObjectSkipList
+            .fastLevels(0xBEEF));
+        for (int i = 0; i < 300; i++) {
+            assertTrue(list.insert(balloon("b" + i)));
+            assertTrue(legacy.insert(balloon("b" + i)));
+            assertTrue(fast.insert(balloon("b" + i)));
+            assertTrue(fastAgain.insert(balloon("b" + i)));
+        }
+        assertEquals(list.formatStructure(), legacy.formatStructure());
+        assertEquals(fast.formatStructure(), fastAgain.formatStructure());
+
+        AirObjectSkipList.LevelGenerator levels = AirObjectSkipList
+            .fastLevels(7);
+        int[] counts = new int[4];
+        for (int i = 0; i < 40000; i++) {
+            int level = levels.nextLevel(3);
+            assertTrue(level >= 0 && level <= 3);
+            counts[level]++;
+        }
+        assertEquals(20000, counts[0], 600);
+        assertEquals(10000, counts[1], 600);
+        assertEquals(5000, counts[2], 400);
+        assertEquals(5000, counts[3], 400);
+        assertEquals(0, AirObjectSkipList.fastLevels(1).nextLevel(0));
+    }
+
+
+    /**
+     * Promotion probabilities other than 1/2 give geometric levels, the
+     * level cap is per instance, and bad settings are refused.
+     */
+    public void testTunedProbabilityAndLevels() {
+        double[] ps = { 0.25, 1 / Math.E, 0.5 };
+        for (double p : ps) {
+            AirObjectSkipList.LevelGenerator levels = AirObjectSkipList
+                .fastLevels(99, p);
+            int[] reached = new int[4];
+            int draws = 60000;
+            for (int i = 0; i < draws; i++) {
+                int level = levels.nextLevel(3);
+                for (int k = 0; k <= level; k++) {
+                    reached[k]++;
+                }
+            }
+            for (int k = 1; k < 4; k++) {
+                assertEquals(draws * Math.pow(p, k), reached[k], draws
+                    * 0.01);
+            }
+        }
+
+        AirObjectSkipList shallow = new AirObjectSkipList(AirObjectSkipList
+            .fastLevels(5, 0.25), 3);
+        TreeMap<String, Balloon> model = new TreeMap<String, Balloon>();
+        Random rnd = new Random(8);
+        for (int i = 0; i < 3000; i++) {
+            String name = "s" + rnd.nextInt(500);
+            if (rnd.nextBoolean()) {
+                Balloon b = balloon(name);
+                assertEquals(!model.containsKey(name), shallow.insert(b));
+                model.putIfAbsent(name, b);
+            }
+            else {
+                assertEquals(model.remove(name), shallow.remove(name));
+            }
+            assertTrue(shallow.currentLevel() <= 2);
+        }
+        assertEquals(namesFromModel(model), namesFromList(shallow));
+
+        int rejected = 0;
+        int[] badLevels = { 0, 65 };
+        for (int bad : badLevels) {
+            try {
+                new AirObjectSkipList(AirObjectSkipList.fastLevels(1), bad);
+            }
+            catch (IllegalArgumentException e) {
+                rejected++;
+            }
+        }
+        double[] badPs = { 0, 1, Double.NaN };
+        for (double bad : badPs) {
+            try {
+                AirObjectSkipList.fastLevels(1, bad);
+            }
+            catch (IllegalArgumentException e) {
+                rejected++;
+            }
+        }
+        assertEquals(5, rejected);
+    }
+
+
+    /**
+     * Name prefixes never order two names against String.compareTo, and
+     * names that tie on their prefixes (shared first eight characters,
+     * trailing NULs, characters of 0xFF and above) still sort, match and
+     * bound ranges exactly.
+     */
+    public void testKeyPrefixesKeepNameOrder() {
+        String[] parts = { "", "a", "A", "\u0000", "\u00fe", "\u00ff",
+            "\u0100", "\u00e9", "\ud83d\udc26", "obj0001", "UAL1234_" };
+        Random rnd = new Random(0x23);
+        String[] names = new String[400];
+        for (int i = 0; i < names.length; i++) {
+            StringBuilder name = new StringBuilder();
+            int pieces = rnd.nextInt(4);
+            for (int k = 0; k < pieces; k++) {
+                name.append(parts[rnd.nextInt(parts.length)]);
+            }
+            names[i] = name.append(rnd.nextInt(3) == 0 ? "" : "" + rnd
+                .nextInt(20)).toString();
+        }
+        for (int i = 0; i < names.length; i++) {
+            for (int k = 0; k < names.length; k++) {
+                int order = Integer.signum(names[i].compareTo(names[k]));
+                int packed = Integer.signum(Long.compare(
+                    AirObjectSkipList.prefix(names[i]), AirObjectSkipList
+                        .prefix(names[k])));
+                assertTrue(packed == 0 || packed == order);
+            }
+        }
+
+        AirObjectSkipList list = new AirObjectSkipList(AirObjectSkipList
+            .fastLevels(23));
+        TreeMap<String, Balloon> model = new TreeMap<>();
+        for (int i = 0; i < names.length; i++) {
+            Balloon entry = balloon(names[i]);
+            assertEquals(!model.containsKey(names[i]), list.insert(entry));
+            model.putIfAbsent(names[i], entry);
+        }
+        assertEquals(namesFromModel(model), namesFromList(list));
+        for (int i = 0; i < names.length; i += 3) {
+            assertSame(model.get(names[i]), list.search(names[i]));
+            String longer = names[i] + "\u0000";
+            assertSame(model.get(longer), list.search(longer));
+        }
+        for (int i = 0; i + 1 < names.length; i += 2) {
+            String low = names[i].compareTo(names[i + 1]) <= 0
+                ? names[i]
+                : names[i + 1];
+            String high = low == names[i] ? names[i + 1] : names[i];
+            StringBuilder expected = new StringBuilder();
+            for (String name : model.subMap(low, true, high, true).keySet()) {
+                expected.append(name).append(',');
+            }
+            StringBuilder actual = new StringBuilder();
+            list.traverseRange(low, high, obj -> actual.append(obj.getName())
+                .append(','));
+            assertEquals(expected.toString(), actual.toString());
+        }
+        for (int i = 0; i < names.length; i += 2) {
+            assertSame(model.remove(names[i]), list.remove(names[i]));
+        }
+        assertEquals(namesFromModel(model), namesFromList(list));
+    }
+
+
+    /**
+     * With the name index on, every operation returns what it returns
+     * without it, through inserts, duplicates, deletes, clear and bulk
+     * loads, including names whose hash codes collide ("Aa" and "BB"), and
+     * the index can be turned on over existing contents.
+     */
+    public void testNameIndexMatchesList() {
+        AirObjectSkipList plain = new AirObjectSkipList(AirObjectSkipList
+            .fastLevels(24));
+        AirObjectSkipList indexed = new AirObjectSkipList(AirObjectSkipList
+            .fastLevels(24));
+        indexed.indexNames(true);
+        assertTrue(indexed.indexesNames());
+        assertFalse(plain.indexesNames());
+        String[] stems = { "Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa" };
+        Random rnd = new Random(0x24);
+        for (int step = 0; step < 6000; step++) {
+            String name = stems[rnd.nextInt(stems.length)] + rnd.nextInt(90);
+            int op = rnd.nextInt(5);
+            if (op < 2) {
+                Balloon entry = balloon(name);
+                assertEquals(plain.insert(entry), indexed.insert(entry));
+            }
+            else if (op < 4) {
+                assertSame(plain.remove(name), indexed.remove(name));
+            }
+            else {
+                assertSame(plain.search(name), indexed.search(name));
+            }
+            assertEquals(plain.size(), indexed.size());
+            if (step == 3000) {
+                plain.clear();
+                indexed.clear();
+                assertNull(indexed.search(name));
+            }
+        }
+        assertEquals(plain.formatStructure(), indexed.formatStructure());
+        for (int i = 0; i < stems.length * 90; i++) {
+            String name = stems[i % stems.length] + i / stems.length;
+            assertSame(plain.search(name), indexed.search(name));
+        }
+
+        AirObject[] sorted = new AirObject[500];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = balloon("n" + (1000 + i));
+        }
+        indexed.clear();
+        assertTrue(indexed.bulkLoad(sorted, sorted.length));
+        plain.clear();
+        assertTrue(plain.bulkLoad(sorted, sorted.length));
+        plain.indexNames(true);
+        for (int i = 0; i < sorted.length; i++) {
+            assertSame(sorted[i], indexed.search(sorted[i].getName()));
+            assertSame(sorted[i], plain.search(sorted[i].getName()));
+            assertFalse(indexed.insert(balloon(sorted[i].getName())));
+        }
+        for (int i = 0; i < sorted.length; i += 2) {
+            assertSame(sorted[i], indexed.remove(sorted[i].getName()));
+            assertNull(indexed.search(sorted[i].getName()));
+        }
+        assertNull(indexed.remove("n0"));
+        indexed.indexNames(false);
+        assertFalse(indexed.indexesNames());
+        assertSame(sorted[1], indexed.search(sorted[1].getName()));
+        assertEquals(sorted.length / 2, indexed.size());
+    }
+
+
+    /**
+     * A cursor pages through a range exactly as traverseRange lists it,
+     * and after inserts and removes between pages (or made by the visitor
+     * itself) it carries on after the last name it returned.
+     */
+    public void testCursorPagesAndResumes() {
+        AirObjectSkipList list = new AirObjectSkipList(AirObjectSkipList
+            .fastLevels(25));
+        TreeMap<String, Balloon> model = new TreeMap<>();
+        for (int i = 0; i < 400; i += 2) {
+            Balloon entry = balloon("k" + (1000 + i));
+            list.insert(entry);
+            model.put(entry.getName(), entry);
+        }
+        StringBuilder whole = new StringBuilder();
+        list.traverseRange("k1100", "k1300", obj -> whole.append(obj
+            .getName()).append(','));
+        AirObjectSkipList.Cursor cursor = list.cursor("k1100", "k1300");
+        StringBuilder paged = new StringBuilder();
+        while (cursor.next(7, obj -> paged.append(obj.getName()).append(
+            ',')) > 0) {
+            assertTrue(paged.length() > 0);
+        }
+        assertEquals(whole.toString(), paged.toString());
+        assertFalse(cursor.hasNext());
+        assertEquals(0, cursor.next(5, obj -> fail()));
+
+        Random rnd = new Random(0x25);
+        cursor = list.cursor("k1000", "k1399");
+        String last = null;
+        while (cursor.hasNext()) {
+            StringBuilder page = new StringBuilder();
+            int visited = cursor.next(1 + rnd.nextInt(9), obj -> page.append(
+                obj.getName()).append(','));
+            assertTrue(visited > 0);
+            String[] names = page.toString().split(",");
+            String from = last == null ? "k1000" : last;
+            StringBuilder expected = new StringBuilder();
+            int taken = 0;
+            for (String name : model.subMap(from, last == null, "k1399", true)
+                .keySet()) {
+                if (taken++ == visited) {
+                    break;
+                }
+                expected.append(name).append(',');
+            }
+            assertEquals(expected.toString(), page.toString());
+            last = names[names.length - 1];
+            for (int k = 0; k < 3; k++) {
+                String name = "k" + (1000 + rnd.nextInt(400));
+                if (rnd.nextBoolean()) {
+                    Balloon entry = balloon(name);
+                    if (list.insert(entry)) {
+                        model.put(name, entry);
+                    }
+                }
+                else {
+                    assertSame(model.remove(name), list.remove(name));
+                }
+            }
+        }
+
+        StringBuilder alternate = new StringBuilder();
+        boolean keep = true;
+        for (String name : model.keySet()) {
+            if (keep) {
+                alternate.append(name).append(',');
+            }
+            keep = !keep;
+        }
+        cursor = list.cursor("k1000", "k1399");
+        StringBuilder visitedNames = new StringBuilder();
+        while (cursor.next(4, obj -> {
+            visitedNames.append(obj.getName()).append(',');
+            String following = model.higherKey(obj.getName());
+            if (following != null) {
+                assertSame(model.remove(following), list.remove(following));
+            }
+            assertSame(model.remove(obj.getName()), list.remove(obj
+                .getName()));
+            list.insert(balloon("k0" + obj.getName()));
+        }) > 0) {
+            assertTrue(visitedNames.length() > 0);
+        }
+        assertTrue(model.isEmpty());
+        assertEquals(alternate.toString(), visitedNames.toString());
+
+        cursor.seek("k0");
+        StringBuilder again = new StringBuilder();
+        assertEquals(3, cursor.next(3, obj -> again.append(obj.getName())
+            .append(',')));
+        String[] firsts = alternate.toString().split(",");
+        assertEquals("k0" + firsts[0] + ",k0" + firsts[1] + ",k0" + firsts[2]
+            + ",", again.toString());
+        assertFalse(list.cursor(null, "k2").hasNext());
+        assertFalse(list.cursor("k1", null).hasNext());
+    }
+
+
+    /**
+     * Finger searches find exactly what search finds, for ascending,
+     * descending and random keys, present and missing, with inserts and
+     * removes between them.
+     */
+    public void testFingerSearchMatchesSearch() {
+        AirObjectSkipList list = new AirObjectSkipList(AirObjectSkipList
+            .fastLevels(26));
+        for (int i = 0; i < 3000; i += 3) {
+            list.insert(balloon("f" + (10000 + i)));
+        }
+        AirObjectSkipList.Finger finger = list.finger();
+        for (int i = 0; i < 3000; i++) {
+            String name = "f" + (10000 + i);
+            assertSame(list.search(name), finger.search(name));
+        }
+        for (int i = 3000; i >= -5; i--) {
+            String name = "f" + (10000 + i);
+            assertSame(list.search(name), finger.search(name));
+        }
+        Random rnd = new Random(0x26);
+        for (int step = 0; step < 3000; step++) {
+            String name = "f" + (10000 + rnd.nextInt(3000));
+            if (step % 10 == 0) {
+                list.remove(name);
+            }
+            else if (step % 10 == 1) {
+                list.insert(balloon(name));
+            }
+            assertSame(list.search(name), finger.search(name));
+            String near = "f" + (10000 + rnd.nextInt(3000));
+            assertSame(list.search(near), finger.search(near));
+        }
+        assertNull(finger.search(null));
+        assertNull(finger.search(""));
+        assertNull(finger.search("g"));
+        list.clear();
+        assertNull(finger.search("f10003"));
+    }
+
+
     private String namesFromModel(TreeMap<String, Balloon> model) {
         StringBuilder builder = new StringBuilder();
         for (Balloon value : model.values()) {
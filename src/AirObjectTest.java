@@ -47,4 +47,21 @@ public class AirObjectTest extends TestCase {
         assertEquals(0, alpha.compareTo(alpha));
         assertEquals(0, betaWithNullName.compareTo(betaWithNullName));
     }
+
+
+    /**
+     * The report line is built once and reused until the object moves.
+     */
+    public void testToStringIsCachedUntilRelocate() {
+        String line = alpha.toString();
+        assertEquals("Balloon Alpha 1 1 1 1 1 1 type 10", line);
+        assertSame(line, alpha.toString());
+        alpha.relocate(4, 5, 6);
+        assertEquals("Balloon Alpha 4 5 6 1 1 1 type 10", alpha.toString());
+        assertNotSame(line, alpha.toString());
+        assertEquals("Balloon null 1 1 1 1 1 1 type 10", betaWithNullName
+            .toString());
+        assertEquals("Rocket r 1 2 3 4 5 6 7 0.5", new Rocket("r", 1, 2, 3, 4,
+            5, 6, 7, 0.5).toString());
+    }
 }
@@ -67,9 +67,9 @@ public class AirPlane extends AirObject {
 
 
     @Override
-    public String toString() {
-        return baseInfo() + " " + carrier + " " + flightNumber + " "
-            + engineCount;
+    protected void appendDetails(StringBuilder out) {
+        out.append(' ').append(carrier).append(' ').append(flightNumber)
+            .append(' ').append(engineCount);
     }
 
 
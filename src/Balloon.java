@@ -57,8 +57,8 @@ public class Balloon extends AirObject {
 
 
     @Override
-    public String toString() {
-        return baseInfo() + " " + type + " " + ascentRate;
+    protected void appendDetails(StringBuilder out) {
+        out.append(' ').append(type).append(' ').append(ascentRate);
     }
 
 
@@ -1,3 +1,8 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 /**
  * Three-dimensional Bintree that stores AirObjects using alternating
  * orthogonal splits (x, y, z).
@@ -6,10 +11,80 @@
  * @version 2025-11-26
  */
 public class Bintree {
+    /**
+     * Internal nodes at or below this depth are walked serially by the
+     * parallel collisions report rather than split into further tasks.
+     */
+    private static final int PARALLEL_DEPTH_LIMIT = 12;
+    /**
+     * Leaves holding at least this many objects find their colliding pairs
+     * with a sort-and-sweep pass instead of testing every pair.
+     */
+    private static final int DEFAULT_SWEEP_THRESHOLD = 32;
+    /**
+     * Serialized shape tags. A leaf is written as its positive object count
+     * followed by the name-order indexes of its objects.
+     */
+    private static final int EMPTY_SHAPE = -1;
+    private static final int INTERNAL_SHAPE = -2;
+    /**
+     * Each split halves one axis of a region at most 2^31 wide, so no valid
+     * tree has internal nodes this deep.
+     */
+    private static final int MAX_SHAPE_DEPTH = 3 * 32;
     private final BoundingBox worldBounds;
+    private final int sweepThreshold;
     private final FlyweightNode flyweight;
     private BintreeNode root;
 
+    /**
+     * Scratch state for checking the object counts of a shape in a single
+     * preorder pass. Leaf entries are numbered in the order they are read.
+     * An object met again is a repeat of the deepest internal node on the
+     * current path that also holds its previous entry, so a node's distinct
+     * count is its children's counts less its own repeats.
+     */
+    private static final class ShapeCheck {
+        private final int[] lastSeen;
+        private final int[] start = new int[MAX_SHAPE_DEPTH];
+        private final int[] repeats = new int[MAX_SHAPE_DEPTH];
+        private int position;
+        private int distinct;
+
+        ShapeCheck(int count) {
+            lastSeen = new int[count];
+            Arrays.fill(lastSeen, -1);
+        }
+
+
+        void enter(int depth) {
+            start[depth] = position;
+            repeats[depth] = 0;
+        }
+
+
+        void entry(int index, int depth) {
+            int previous = lastSeen[index];
+            lastSeen[index] = position++;
+            if (previous < 0) {
+                return;
+            }
+            int low = 0;
+            int high = depth - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (start[mid] <= previous) {
+                    low = mid;
+                }
+                else {
+                    high = mid - 1;
+                }
+            }
+            repeats[low]++;
+        }
+    }
+
+
     /**
      * Simple counter helper.
      */
@@ -40,7 +115,22 @@ public class Bintree {
      *            bounding region for the tree
      */
     public Bintree(BoundingBox bounds) {
+        this(bounds, DEFAULT_SWEEP_THRESHOLD);
+    }
+
+
+    /**
+     * Constructs a new Bintree with a custom leaf size at which collision
+     * detection switches from the pairwise loop to sort-and-sweep.
+     *
+     * @param bounds
+     *            bounding region for the tree
+     * @param sweepLeafSize
+     *            minimum leaf population for sort-and-sweep
+     */
+    Bintree(BoundingBox bounds, int sweepLeafSize) {
         worldBounds = bounds;
+        sweepThreshold = sweepLeafSize;
         flyweight = new FlyweightNode();
         root = flyweight;
     }
@@ -61,7 +151,77 @@ public class Bintree {
      *            object to insert
      */
     public void insert(AirObject obj) {
-        root = root.insert(obj, worldBounds, 0);
+        root = root.insert(obj, worldBounds.getX(), worldBounds.getY(),
+            worldBounds.getZ(), worldBounds.getXWidth(), worldBounds
+                .getYWidth(), worldBounds.getZWidth(), 0, new BooleanBox());
+    }
+
+
+    /**
+     * Replaces the contents of the bintree with the given objects, building
+     * the tree top-down by partitioning the objects between the two halves
+     * of each region instead of inserting them one at a time. The result is
+     * the same tree that inserting the objects one by one would produce.
+     *
+     * @param sorted
+     *            distinct objects in ascending name order
+     * @param count
+     *            number of leading entries of sorted to load
+     */
+    public void build(AirObject[] sorted, int count) {
+        root = build(sorted, count, worldBounds.getX(), worldBounds.getY(),
+            worldBounds.getZ(), worldBounds.getXWidth(), worldBounds
+                .getYWidth(), worldBounds.getZWidth(), 0);
+    }
+
+
+    /**
+     * @return the number of ints {@link #writeShape} will write
+     */
+    int shapeLength() {
+        return root.shapeLength();
+    }
+
+
+    /**
+     * Writes the tree shape in preorder: an empty node as -1, an internal
+     * node as -2 followed by its object count, and a leaf as its object
+     * count followed by the position of each object in byName.
+     *
+     * @param out
+     *            destination with at least {@link #shapeLength()} ints left
+     * @param byName
+     *            every stored object, in ascending name order
+     * @param count
+     *            number of leading entries of byName in use
+     */
+    void writeShape(IntBuffer out, AirObject[] byName, int count) {
+        root.writeShape(out, byName, count);
+    }
+
+
+    /**
+     * Replaces the contents of the tree with a shape written by
+     * {@link #writeShape}, linking nodes directly without any insert logic.
+     *
+     * @param in
+     *            source positioned at the start of the shape
+     * @param byName
+     *            the objects the shape's indexes refer to
+     * @throws IllegalArgumentException
+     *             if the shape is malformed: an index outside byName, a
+     *             leaf out of name order, an internal node whose count
+     *             differs from the distinct objects below it, or a tree that
+     *             does not hold every object of byName
+     */
+    void readShape(IntBuffer in, AirObject[] byName) {
+        ShapeCheck check = new ShapeCheck(byName.length);
+        BintreeNode read = readNode(in, byName, 0, check);
+        if (check.distinct != byName.length) {
+            throw new IllegalArgumentException("Bintree shape holds "
+                + check.distinct + " of " + byName.length + " objects");
+        }
+        root = read;
     }
 
 
@@ -74,22 +234,175 @@ public class Bintree {
      */
     public boolean remove(AirObject obj) {
         BooleanBox removed = new BooleanBox();
-        root = root.remove(obj, worldBounds, 0, removed);
+        root = root.remove(obj, obj.getBoundingBox(), worldBounds.getX(),
+            worldBounds.getY(), worldBounds.getZ(), worldBounds.getXWidth(),
+            worldBounds.getYWidth(), worldBounds.getZWidth(), 0, removed);
         return removed.value;
     }
 
 
+    /**
+     * Updates the tree after an object stored in it has been moved. Only the
+     * subtrees that the old or the new box reaches are visited, and a leaf
+     * that holds the object before and after the move is updated in place.
+     * The resulting tree is the one that removing the object at its old
+     * position and inserting it at the new one would produce.
+     *
+     * @param obj
+     *            stored object, already carrying its new bounding box
+     * @param from
+     *            the object's bounding box before the move
+     */
+    public void move(AirObject obj, BoundingBox from) {
+        root = root.move(obj, from, worldBounds.getX(), worldBounds.getY(),
+            worldBounds.getZ(), worldBounds.getXWidth(), worldBounds
+                .getYWidth(), worldBounds.getZWidth(), 0, new BooleanBox(),
+            new BooleanBox());
+    }
+
+
+    /**
+     * Updates the tree after a batch of stored objects has been moved. The
+     * batch is pushed down the tree once, splitting it between the children
+     * of each node, so objects that move within the same region share their
+     * descent. The result is the tree that removing every moved object at
+     * its old position and then inserting them all at their new positions
+     * would produce.
+     *
+     * @param objs
+     *            distinct stored objects, already carrying their new boxes
+     * @param from
+     *            each object's bounding box before the move
+     * @param count
+     *            number of leading entries to apply
+     */
+    public void moveAll(AirObject[] objs, BoundingBox[] from, int count) {
+        if (count == 0) {
+            return;
+        }
+        int[] removals = new int[count];
+        int[] inserts = new int[count];
+        for (int i = 0; i < count; i++) {
+            removals[i] = i;
+            inserts[i] = i;
+        }
+        root = root.moveAll(objs, from, removals, count, inserts, count,
+            worldBounds.getX(), worldBounds.getY(), worldBounds.getZ(),
+            worldBounds.getXWidth(), worldBounds.getYWidth(), worldBounds
+                .getZWidth(), 0);
+    }
+
+
+    /**
+     * Reads one node of a shape. The name-order indexes of the distinct
+     * objects in the subtree are left in members, ascending, so that each
+     * internal node's recorded count can be checked against its children.
+     */
+    private BintreeNode readNode(
+        IntBuffer in,
+        AirObject[] byName,
+        int depth,
+        ShapeCheck check) {
+        int tag = in.get();
+        if (tag == EMPTY_SHAPE) {
+            check.distinct = 0;
+            return flyweight;
+        }
+        if (tag == INTERNAL_SHAPE) {
+            if (depth >= MAX_SHAPE_DEPTH) {
+                throw new IllegalArgumentException("Bintree shape too deep");
+            }
+            InternalNode internal = new InternalNode(depth % 3);
+            int count = in.get();
+            check.enter(depth);
+            internal.left = readNode(in, byName, depth + 1, check);
+            int distinct = check.distinct;
+            internal.right = readNode(in, byName, depth + 1, check);
+            distinct += check.distinct - check.repeats[depth];
+            if (count != distinct) {
+                throw new IllegalArgumentException("Bintree node records "
+                    + count + " objects but holds " + distinct);
+            }
+            internal.count = count;
+            check.distinct = distinct;
+            return internal;
+        }
+        if (tag <= 0) {
+            throw new IllegalArgumentException("bad Bintree shape tag " + tag);
+        }
+        LeafNode leaf = new LeafNode();
+        int last = -1;
+        for (int i = 0; i < tag; i++) {
+            int index = in.get();
+            if (index < 0 || index >= byName.length) {
+                throw new IllegalArgumentException("Bintree leaf entry "
+                    + index + " is not one of " + byName.length + " objects");
+            }
+            if (index <= last) {
+                throw new IllegalArgumentException(
+                    "Bintree leaf entries out of name order");
+            }
+            last = index;
+            check.entry(index, depth);
+            leaf.objects.append(byName[index]);
+        }
+        check.distinct = tag;
+        return leaf;
+    }
+
+
+    /**
+     * Inserts a share of a batch into a subtree one object at a time.
+     */
+    private static BintreeNode insertAll(
+        BintreeNode node,
+        AirObject[] objs,
+        int[] inserts,
+        int insertCount,
+        int x,
+        int y,
+        int z,
+        int xw,
+        int yw,
+        int zw,
+        int depth) {
+        BintreeNode current = node;
+        BooleanBox added = new BooleanBox();
+        for (int i = 0; i < insertCount; i++) {
+            added.value = false;
+            current = current.insert(objs[inserts[i]], x, y, z, xw, yw, zw,
+                depth, added);
+        }
+        return current;
+    }
+
+
     /**
      * Produces a preorder traversal string.
      *
      * @return formatted listing
      */
     public String print() {
-        StringBuilder builder = new StringBuilder();
+        ReportSink.Collector collector = new ReportSink.Collector();
+        print(collector);
+        return collector.toString();
+    }
+
+
+    /**
+     * Streams the preorder traversal to a sink, one line per call.
+     *
+     * @param sink
+     *            receiver of the listing lines
+     */
+    public void print(ReportSink sink) {
+        ReportBuffer out = new ReportBuffer(sink);
         Counter counter = new Counter();
-        root.print(builder, 0, worldBounds, counter);
-        builder.append(counter.value).append(" Bintree nodes printed\r\n");
-        return builder.toString();
+        root.print(out, 0, worldBounds.getX(), worldBounds.getY(), worldBounds
+            .getZ(), worldBounds.getXWidth(), worldBounds.getYWidth(),
+            worldBounds.getZWidth(), counter);
+        out.line().append(counter.value).append(" Bintree nodes printed");
+        out.endLine();
     }
 
 
@@ -99,12 +412,70 @@ public class Bintree {
      * @return collisions string
      */
     public String collisionsReport() {
-        StringBuilder builder = new StringBuilder();
-        builder.append("The following collisions exist in the database:\r\n");
+        ReportSink.Collector collector = new ReportSink.Collector();
+        collisionsReport(collector);
+        return collector.toString();
+    }
+
+
+    /**
+     * Streams the collisions report to a sink, one line per call.
+     *
+     * @param sink
+     *            receiver of the report lines
+     */
+    public void collisionsReport(ReportSink sink) {
+        ReportBuffer out = new ReportBuffer(sink);
+        out.line().append("The following collisions exist in the database:");
+        out.endLine();
         if (root != flyweight) {
-            root.collectCollisions(builder, worldBounds, 0);
+            root.collectCollisions(out, worldBounds.getX(), worldBounds.getY(),
+                worldBounds.getZ(), worldBounds.getXWidth(), worldBounds
+                    .getYWidth(), worldBounds.getZWidth(), 0);
+        }
+    }
+
+
+    /**
+     * Produces the collisions report, walking the two subtrees of each
+     * internal node in parallel on the given pool. The output is identical to
+     * {@link #collisionsReport()}.
+     *
+     * @param pool
+     *            pool that runs the subtree tasks
+     * @return collisions string
+     */
+    public String collisionsReport(ForkJoinPool pool) {
+        ReportSink.Collector collector = new ReportSink.Collector();
+        collisionsReport(collector, pool);
+        return collector.toString();
+    }
+
+
+    /**
+     * Streams the collisions report to a sink after computing it in parallel
+     * on the given pool. Lines arrive in the same order as from the serial
+     * report.
+     *
+     * @param sink
+     *            receiver of the report lines
+     * @param pool
+     *            pool that runs the subtree tasks
+     */
+    public void collisionsReport(ReportSink sink, ForkJoinPool pool) {
+        sink.line("The following collisions exist in the database:");
+        if (root == flyweight) {
+            return;
+        }
+        LineChunk chunk = pool.invoke(new CollisionTask(root, worldBounds
+            .getX(), worldBounds.getY(), worldBounds.getZ(), worldBounds
+                .getXWidth(), worldBounds.getYWidth(), worldBounds.getZWidth(),
+            0));
+        for (; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                sink.line(chunk.lines[i]);
+            }
         }
-        return builder.toString();
     }
 
 
@@ -116,60 +487,147 @@ public class Bintree {
      * @return formatted string
      */
     public String intersectReport(BoundingBox query) {
-        StringBuilder builder = new StringBuilder();
-        builder.append("The following objects intersect (").append(query.getX())
-            .append(" ").append(query.getY()).append(" ").append(query.getZ())
-            .append(" ").append(query.getXWidth()).append(" ").append(query
-                .getYWidth()).append(" ").append(query.getZWidth()).append(
-                    "):\r\n");
+        ReportSink.Collector collector = new ReportSink.Collector();
+        intersectReport(query, collector);
+        return collector.toString();
+    }
+
+
+    /**
+     * Streams the intersection report for the provided box to a sink, one
+     * line per call.
+     *
+     * @param query
+     *            query bounding box
+     * @param sink
+     *            receiver of the report lines
+     */
+    public void intersectReport(BoundingBox query, ReportSink sink) {
+        ReportBuffer out = new ReportBuffer(sink);
+        out.line().append("The following objects intersect (").append(query
+            .getX()).append(" ").append(query.getY()).append(" ").append(query
+                .getZ()).append(" ").append(query.getXWidth()).append(" ")
+            .append(query.getYWidth()).append(" ").append(query.getZWidth())
+            .append("):");
+        out.endLine();
         Counter counter = new Counter();
         if (root == flyweight) {
             counter.increment();
         }
         else {
-            root.intersect(query, worldBounds, 0, builder, counter);
+            root.intersect(query, worldBounds.getX(), worldBounds.getY(),
+                worldBounds.getZ(), worldBounds.getXWidth(), worldBounds
+                    .getYWidth(), worldBounds.getZWidth(), 0, out, counter);
         }
-        builder.append(counter.value).append(
-            " nodes were visited in the bintree\r\n");
-        return builder.toString();
+        out.line().append(counter.value).append(
+            " nodes were visited in the bintree");
+        out.endLine();
     }
 
     /**
-     * Bintree node interface.
+     * Bintree node interface. Node regions are passed as primitive origin and
+     * width values rather than BoundingBox instances so that a descent does
+     * not allocate.
      */
     private interface BintreeNode {
-        BintreeNode insert(AirObject obj, BoundingBox region, int depth);
+        BintreeNode insert(
+            AirObject obj,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth,
+            BooleanBox added);
 
 
         BintreeNode remove(
             AirObject obj,
-            BoundingBox region,
+            BoundingBox box,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth,
             BooleanBox removed);
 
 
+        BintreeNode move(
+            AirObject obj,
+            BoundingBox from,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth,
+            BooleanBox removed,
+            BooleanBox added);
+
+
+        BintreeNode moveAll(
+            AirObject[] objs,
+            BoundingBox[] from,
+            int[] removals,
+            int removalCount,
+            int[] inserts,
+            int insertCount,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth);
+
+
         void print(
-            StringBuilder builder,
+            ReportBuffer out,
             int depth,
-            BoundingBox region,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             Counter counter);
 
 
         void collectCollisions(
-            StringBuilder builder,
-            BoundingBox region,
+            ReportBuffer out,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth);
 
 
         void intersect(
             BoundingBox query,
-            BoundingBox region,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth,
-            StringBuilder builder,
+            ReportBuffer out,
             Counter counter);
 
 
         boolean isFlyweight();
+
+
+        int shapeLength();
+
+
+        void writeShape(IntBuffer out, AirObject[] byName, int count);
     }
 
 
@@ -180,10 +638,17 @@ public class Bintree {
         @Override
         public BintreeNode insert(
             AirObject obj,
-            BoundingBox region,
-            int depth) {
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth,
+            BooleanBox added) {
             LeafNode leaf = new LeafNode();
             leaf.add(obj);
+            added.set();
             return leaf;
         }
 
@@ -191,30 +656,85 @@ public class Bintree {
         @Override
         public BintreeNode remove(
             AirObject obj,
-            BoundingBox region,
+            BoundingBox box,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth,
             BooleanBox removed) {
             return this;
         }
 
 
+        @Override
+        public BintreeNode move(
+            AirObject obj,
+            BoundingBox from,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth,
+            BooleanBox removed,
+            BooleanBox added) {
+            return insert(obj, x, y, z, xw, yw, zw, depth, added);
+        }
+
+
+        @Override
+        public BintreeNode moveAll(
+            AirObject[] objs,
+            BoundingBox[] from,
+            int[] removals,
+            int removalCount,
+            int[] inserts,
+            int insertCount,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth) {
+            return insertAll(this, objs, inserts, insertCount, x, y, z, xw,
+                yw, zw, depth);
+        }
+
+
         @Override
         public void print(
-            StringBuilder builder,
+            ReportBuffer out,
             int depth,
-            BoundingBox region,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             Counter counter) {
-            appendIndent(builder, depth);
-            builder.append("E ").append(region.format()).append(" ").append(
-                depth).append("\r\n");
+            appendIndent(out.line(), depth);
+            out.line().append("E ");
+            appendRegion(out.line(), x, y, z, xw, yw, zw);
+            out.line().append(" ").append(depth);
+            out.endLine();
             counter.increment();
         }
 
 
         @Override
         public void collectCollisions(
-            StringBuilder builder,
-            BoundingBox region,
+            ReportBuffer out,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth) {
             // Nothing to report
         }
@@ -223,9 +743,14 @@ public class Bintree {
         @Override
         public void intersect(
             BoundingBox query,
-            BoundingBox region,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth,
-            StringBuilder builder,
+            ReportBuffer out,
             Counter counter) {
             // flyweight nodes are not visited
         }
@@ -235,6 +760,18 @@ public class Bintree {
         public boolean isFlyweight() {
             return true;
         }
+
+
+        @Override
+        public int shapeLength() {
+            return 1;
+        }
+
+
+        @Override
+        public void writeShape(IntBuffer out, AirObject[] byName, int count) {
+            out.put(EMPTY_SHAPE);
+        }
     }
 
 
@@ -257,11 +794,19 @@ public class Bintree {
         @Override
         public BintreeNode insert(
             AirObject obj,
-            BoundingBox region,
-            int depth) {
-            objects.add(obj);
-            if (shouldSplit(region, depth)) {
-                return split(region, depth);
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth,
+            BooleanBox added) {
+            if (objects.add(obj)) {
+                added.set();
+            }
+            if (shouldSplit(xw, yw, zw, depth)) {
+                return split(x, y, z, xw, yw, zw, depth);
             }
             return this;
         }
@@ -270,7 +815,13 @@ public class Bintree {
         @Override
         public BintreeNode remove(
             AirObject obj,
-            BoundingBox region,
+            BoundingBox box,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth,
             BooleanBox removed) {
             if (objects.remove(obj)) {
@@ -283,20 +834,79 @@ public class Bintree {
         }
 
 
+        /**
+         * The object stays in this leaf, so only its stored coordinates
+         * change; the new box may still force a split.
+         */
+        @Override
+        public BintreeNode move(
+            AirObject obj,
+            BoundingBox from,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth,
+            BooleanBox removed,
+            BooleanBox added) {
+            if (!objects.refresh(obj)) {
+                return insert(obj, x, y, z, xw, yw, zw, depth, added);
+            }
+            if (shouldSplit(xw, yw, zw, depth)) {
+                return split(x, y, z, xw, yw, zw, depth);
+            }
+            return this;
+        }
+
+
+        @Override
+        public BintreeNode moveAll(
+            AirObject[] objs,
+            BoundingBox[] from,
+            int[] removals,
+            int removalCount,
+            int[] inserts,
+            int insertCount,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth) {
+            for (int i = 0; i < removalCount; i++) {
+                objects.remove(objs[removals[i]]);
+            }
+            BintreeNode node = objects.isEmpty() ? flyweight : this;
+            return insertAll(node, objs, inserts, insertCount, x, y, z, xw, yw,
+                zw, depth);
+        }
+
+
         @Override
         public void print(
-            StringBuilder builder,
+            ReportBuffer out,
             int depth,
-            BoundingBox region,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             Counter counter) {
-            appendIndent(builder, depth);
-            builder.append("Leaf with ").append(objects.size()).append(
-                " objects ").append(region.format()).append(" ").append(depth)
-                .append("\r\n");
+            appendIndent(out.line(), depth);
+            out.line().append("Leaf with ").append(objects.size()).append(
+                " objects ");
+            appendRegion(out.line(), x, y, z, xw, yw, zw);
+            out.line().append(" ").append(depth);
+            out.endLine();
             for (int i = 0; i < objects.size(); i++) {
-                appendIndent(builder, depth + 1);
-                builder.append("(").append(objects.get(i).toString()).append(
-                    ")\r\n");
+                appendIndent(out.line(), depth + 1);
+                out.line().append("(").append(objects.get(i).toString())
+                    .append(")");
+                out.endLine();
             }
             counter.increment();
         }
@@ -304,45 +914,166 @@ public class Bintree {
 
         @Override
         public void collectCollisions(
-            StringBuilder builder,
-            BoundingBox region,
+            ReportBuffer out,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth) {
-            builder.append("In leaf node ").append(region.format()).append(" ")
-                .append(depth).append("\r\n");
+            out.line().append("In leaf node ");
+            appendRegion(out.line(), x, y, z, xw, yw, zw);
+            out.line().append(" ").append(depth);
+            out.endLine();
             int limit = objects.size();
+            if (limit >= sweepThreshold) {
+                sweepCollisions(out, x, y, z, xw, yw, zw);
+                return;
+            }
+            long xEnd = (long)x + xw;
+            long yEnd = (long)y + yw;
+            long zEnd = (long)z + zw;
             for (int i = 0; i < limit; i++) {
-                BoundingBox first = objects.get(i).getBoundingBox();
                 for (int j = i + 1; j < limit; j++) {
-                    BoundingBox second = objects.get(j).getBoundingBox();
-                    BoundingBox intersection = first.intersection(second);
-                    if (intersection != null && region.containsPoint(
-                        intersection.getX(), intersection.getY(), intersection
-                            .getZ())) {
-                        builder.append("(").append(objects.get(i).toString())
-                            .append(") and (").append(objects.get(j).toString())
-                            .append(")\r\n");
+                    if (pairStartsIn(i, j, x, y, z, xEnd, yEnd, zEnd)) {
+                        appendPair(out, i, j);
                     }
                 }
             }
         }
 
 
+        /**
+         * Checks whether entries i and j overlap and the origin of their
+         * overlap lies inside the region [x, xEnd) x [y, yEnd) x [z, zEnd).
+         */
+        private boolean pairStartsIn(
+            int i,
+            int j,
+            int x,
+            int y,
+            int z,
+            long xEnd,
+            long yEnd,
+            long zEnd) {
+            if (!objects.overlaps(i, j)) {
+                return false;
+            }
+            int ox = Math.max(objects.minX[i], objects.minX[j]);
+            int oy = Math.max(objects.minY[i], objects.minY[j]);
+            int oz = Math.max(objects.minZ[i], objects.minZ[j]);
+            return ox >= x && ox < xEnd && oy >= y && oy < yEnd && oz >= z
+                && oz < zEnd;
+        }
+
+
+        /**
+         * Sort-and-sweep along the longest axis of the region: entries are
+         * ordered by their start on that axis and each one is only tested
+         * against the entries that start before it ends. Matching pairs are
+         * sorted back into (i, j) order so the output equals the pairwise
+         * loop.
+         */
+        private void sweepCollisions(
+            ReportBuffer out,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw) {
+            int axis = xw >= yw && xw >= zw ? 0 : yw >= zw ? 1 : 2;
+            int[] starts = axis == 0
+                ? objects.minX
+                : axis == 1 ? objects.minY : objects.minZ;
+            int[] ends = axis == 0
+                ? objects.maxX
+                : axis == 1 ? objects.maxY : objects.maxZ;
+            long xEnd = (long)x + xw;
+            long yEnd = (long)y + yw;
+            long zEnd = (long)z + zw;
+            int limit = objects.size();
+            long[] order = new long[limit];
+            for (int i = 0; i < limit; i++) {
+                order[i] = ((long)starts[i] << 32) | i;
+            }
+            Arrays.sort(order);
+            long[] pairs = new long[limit + 1];
+            int pairCount = 0;
+            for (int a = 0; a < limit; a++) {
+                int i = (int)order[a];
+                int end = ends[i];
+                for (int b = a + 1; b < limit && (order[b] >> 32) < end; b++) {
+                    int j = (int)order[b];
+                    if (pairStartsIn(i, j, x, y, z, xEnd, yEnd, zEnd)) {
+                        if (pairCount == pairs.length) {
+                            pairs = Arrays.copyOf(pairs, pairCount * 2);
+                        }
+                        pairs[pairCount++] = i < j
+                            ? ((long)i << 32) | j
+                            : ((long)j << 32) | i;
+                    }
+                }
+            }
+            Arrays.sort(pairs, 0, pairCount);
+            for (int p = 0; p < pairCount; p++) {
+                appendPair(out, (int)(pairs[p] >>> 32), (int)pairs[p]);
+            }
+        }
+
+
+        private void appendPair(ReportBuffer out, int i, int j) {
+            out.line().append("(").append(objects.get(i).toString()).append(
+                ") and (").append(objects.get(j).toString()).append(")");
+            out.endLine();
+        }
+
+
         @Override
         public void intersect(
             BoundingBox query,
-            BoundingBox region,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth,
-            StringBuilder builder,
+            ReportBuffer out,
             Counter counter) {
             counter.increment();
-            builder.append("In leaf node ").append(region.format()).append(" ")
-                .append(depth).append("\r\n");
+            out.line().append("In leaf node ");
+            appendRegion(out.line(), x, y, z, xw, yw, zw);
+            out.line().append(" ").append(depth);
+            out.endLine();
+            int qx = query.getX();
+            int qy = query.getY();
+            int qz = query.getZ();
+            long qxEnd = (long)qx + query.getXWidth();
+            long qyEnd = (long)qy + query.getYWidth();
+            long qzEnd = (long)qz + query.getZWidth();
+            long xEnd = (long)x + xw;
+            long yEnd = (long)y + yw;
+            long zEnd = (long)z + zw;
+            int[] minX = objects.minX;
+            int[] minY = objects.minY;
+            int[] minZ = objects.minZ;
+            int[] maxX = objects.maxX;
+            int[] maxY = objects.maxY;
+            int[] maxZ = objects.maxZ;
             for (int i = 0; i < objects.size(); i++) {
-                AirObject obj = objects.get(i);
-                BoundingBox overlap = obj.getBoundingBox().intersection(query);
-                if (overlap != null && region.containsPoint(overlap.getX(),
-                    overlap.getY(), overlap.getZ())) {
-                    builder.append(obj.toString()).append("\r\n");
+                if (minX[i] >= qxEnd || qx >= maxX[i] || minY[i] >= qyEnd
+                    || qy >= maxY[i] || minZ[i] >= qzEnd || qz >= maxZ[i]) {
+                    continue;
+                }
+                int ox = Math.max(minX[i], qx);
+                int oy = Math.max(minY[i], qy);
+                int oz = Math.max(minZ[i], qz);
+                if (ox >= x && ox < xEnd && oy >= y && oy < yEnd && oz >= z
+                    && oz < zEnd) {
+                    out.line().append(objects.get(i).toString());
+                    out.endLine();
                 }
             }
         }
@@ -354,42 +1085,40 @@ public class Bintree {
         }
 
 
-        private boolean shouldSplit(BoundingBox region, int depth) {
-            if (objects.size() <= 3) {
-                return false;
-            }
-            if (allBoxesOverlap()) {
-                return false;
-            }
-            int axis = depth % 3;
-            int axisWidth = axis == 0
-                ? region.getXWidth()
-                : axis == 1 ? region.getYWidth() : region.getZWidth();
-            return axisWidth > 1;
+        @Override
+        public int shapeLength() {
+            return 1 + objects.size();
         }
 
 
-        private boolean allBoxesOverlap() {
-            if (objects.size() <= 1) {
-                return true;
-            }
-            BoundingBox intersection = objects.get(0).getBoundingBox();
-            for (int i = 1; i < objects.size(); i++) {
-                intersection = intersection.intersection(objects.get(i)
-                    .getBoundingBox());
-                if (intersection == null) {
-                    return false;
-                }
+        @Override
+        public void writeShape(IntBuffer out, AirObject[] byName, int count) {
+            out.put(objects.size());
+            for (int i = 0; i < objects.size(); i++) {
+                out.put(Arrays.binarySearch(byName, 0, count, objects.get(i)));
             }
-            return intersection != null;
         }
 
 
-        private BintreeNode split(BoundingBox region, int depth) {
+        private boolean shouldSplit(int xw, int yw, int zw, int depth) {
+            return splits(objects, xw, yw, zw, depth);
+        }
+
+
+        private BintreeNode split(
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth) {
             InternalNode internal = new InternalNode(depth % 3);
             AirObject[] entries = snapshot();
+            BooleanBox added = new BooleanBox();
             for (int i = 0; i < entries.length; i++) {
-                internal.insert(entries[i], region, depth);
+                added.value = false;
+                internal.insert(entries[i], x, y, z, xw, yw, zw, depth, added);
             }
             return internal;
         }
@@ -402,12 +1131,19 @@ public class Bintree {
 
 
     /**
-     * Internal node containing two children.
+     * Internal node containing two children. It counts the distinct objects
+     * in its subtree, so that a delete can decide whether to merge the
+     * children back into one leaf without walking them. An object that
+     * spans both children is counted once: insert and remove report through
+     * their BooleanBox whether any leaf actually changed, and since an
+     * object is either in every leaf it intersects or in none, that answer
+     * holds for every node on the path.
      */
     private class InternalNode implements BintreeNode {
         private BintreeNode left;
         private BintreeNode right;
         private final int axis;
+        private int count;
 
         InternalNode(int splitAxis) {
             axis = splitAxis;
@@ -419,14 +1155,29 @@ public class Bintree {
         @Override
         public BintreeNode insert(
             AirObject obj,
-            BoundingBox region,
-            int depth) {
-            BoundingBox[] children = splitRegion(region, axis);
-            if (children[0].intersects(obj.getBoundingBox())) {
-                left = left.insert(obj, children[0], depth + 1);
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth,
+            BooleanBox added) {
+            BoundingBox box = obj.getBoundingBox();
+            if (box.intersects(x, y, z, lowerWidth(xw, 0), lowerWidth(yw, 1),
+                lowerWidth(zw, 2))) {
+                left = left.insert(obj, x, y, z, lowerWidth(xw, 0), lowerWidth(
+                    yw, 1), lowerWidth(zw, 2), depth + 1, added);
             }
-            if (children[1].intersects(obj.getBoundingBox())) {
-                right = right.insert(obj, children[1], depth + 1);
+            if (box.intersects(upperOrigin(x, xw, 0), upperOrigin(y, yw, 1),
+                upperOrigin(z, zw, 2), upperWidth(xw, 0), upperWidth(yw, 1),
+                upperWidth(zw, 2))) {
+                right = right.insert(obj, upperOrigin(x, xw, 0), upperOrigin(y,
+                    yw, 1), upperOrigin(z, zw, 2), upperWidth(xw, 0),
+                    upperWidth(yw, 1), upperWidth(zw, 2), depth + 1, added);
+            }
+            if (added.value) {
+                count++;
             }
             return this;
         }
@@ -435,19 +1186,37 @@ public class Bintree {
         @Override
         public BintreeNode remove(
             AirObject obj,
-            BoundingBox region,
+            BoundingBox box,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth,
             BooleanBox removed) {
-            BoundingBox[] children = splitRegion(region, axis);
-            if (children[0].intersects(obj.getBoundingBox())) {
-                left = left.remove(obj, children[0], depth + 1, removed);
+            if (box.intersects(x, y, z, lowerWidth(xw, 0), lowerWidth(yw, 1),
+                lowerWidth(zw, 2))) {
+                left = left.remove(obj, box, x, y, z, lowerWidth(xw, 0),
+                    lowerWidth(yw, 1), lowerWidth(zw, 2), depth + 1, removed);
+            }
+            if (box.intersects(upperOrigin(x, xw, 0), upperOrigin(y, yw, 1),
+                upperOrigin(z, zw, 2), upperWidth(xw, 0), upperWidth(yw, 1),
+                upperWidth(zw, 2))) {
+                right = right.remove(obj, box, upperOrigin(x, xw, 0),
+                    upperOrigin(y, yw, 1), upperOrigin(z, zw, 2), upperWidth(xw,
+                        0), upperWidth(yw, 1), upperWidth(zw, 2), depth + 1,
+                    removed);
             }
-            if (children[1].intersects(obj.getBoundingBox())) {
-                right = right.remove(obj, children[1], depth + 1, removed);
+            if (removed.value) {
+                count--;
             }
             if (left.isFlyweight() && right.isFlyweight()) {
                 return flyweight;
             }
+            if (count > 3) {
+                return this;
+            }
             AirObjectStorage combined = new AirObjectStorage();
             gatherObjects(left, combined);
             gatherObjects(right, combined);
@@ -457,7 +1226,7 @@ public class Bintree {
                 for (int i = 0; i < entries.length; i++) {
                     merged.add(entries[i]);
                 }
-                if (!merged.shouldSplit(region, depth)) {
+                if (!merged.shouldSplit(xw, yw, zw, depth)) {
                     return merged;
                 }
             }
@@ -465,50 +1234,230 @@ public class Bintree {
         }
 
 
+        /**
+         * Relocates an object whose old and new boxes both fall in this
+         * region. Children reached by only one of the boxes get a plain
+         * remove or insert and children reached by both recurse, so
+         * untouched subtrees are never visited. A node holding four or fewer
+         * objects could merge during a delete, so it falls back to remove
+         * and insert to produce the same tree that delete and add would.
+         */
+        @Override
+        public BintreeNode move(
+            AirObject obj,
+            BoundingBox from,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth,
+            BooleanBox removed,
+            BooleanBox added) {
+            if (count <= 4) {
+                return remove(obj, from, x, y, z, xw, yw, zw, depth, removed)
+                    .insert(obj, x, y, z, xw, yw, zw, depth, added);
+            }
+            BoundingBox box = obj.getBoundingBox();
+            int lxw = lowerWidth(xw, 0);
+            int lyw = lowerWidth(yw, 1);
+            int lzw = lowerWidth(zw, 2);
+            boolean wasLower = from.intersects(x, y, z, lxw, lyw, lzw);
+            boolean isLower = box.intersects(x, y, z, lxw, lyw, lzw);
+            if (wasLower && isLower) {
+                left = left.move(obj, from, x, y, z, lxw, lyw, lzw, depth + 1,
+                    removed, added);
+            }
+            else if (wasLower) {
+                left = left.remove(obj, from, x, y, z, lxw, lyw, lzw, depth + 1,
+                    removed);
+            }
+            else if (isLower) {
+                left = left.insert(obj, x, y, z, lxw, lyw, lzw, depth + 1,
+                    added);
+            }
+            int ux = upperOrigin(x, xw, 0);
+            int uy = upperOrigin(y, yw, 1);
+            int uz = upperOrigin(z, zw, 2);
+            int uxw = upperWidth(xw, 0);
+            int uyw = upperWidth(yw, 1);
+            int uzw = upperWidth(zw, 2);
+            boolean wasUpper = from.intersects(ux, uy, uz, uxw, uyw, uzw);
+            boolean isUpper = box.intersects(ux, uy, uz, uxw, uyw, uzw);
+            if (wasUpper && isUpper) {
+                right = right.move(obj, from, ux, uy, uz, uxw, uyw, uzw, depth
+                    + 1, removed, added);
+            }
+            else if (wasUpper) {
+                right = right.remove(obj, from, ux, uy, uz, uxw, uyw, uzw, depth
+                    + 1, removed);
+            }
+            else if (isUpper) {
+                right = right.insert(obj, ux, uy, uz, uxw, uyw, uzw, depth + 1,
+                    added);
+            }
+            return this;
+        }
+
+
+        /**
+         * Applies a batch of moves to this subtree. When enough objects stay
+         * behind for this node to survive the removals, the moves are split
+         * between the children by their old and new boxes and each child is
+         * descended once for its whole share. Otherwise this node would
+         * merge, so its share is removed and reinserted one object at a
+         * time, which keeps the tree identical to removing every moved
+         * object and then inserting them all again.
+         */
+        @Override
+        public BintreeNode moveAll(
+            AirObject[] objs,
+            BoundingBox[] from,
+            int[] removals,
+            int removalCount,
+            int[] inserts,
+            int insertCount,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
+            int depth) {
+            if (count - removalCount <= 3) {
+                BintreeNode node = this;
+                BooleanBox removed = new BooleanBox();
+                for (int i = 0; i < removalCount; i++) {
+                    int index = removals[i];
+                    removed.value = false;
+                    node = node.remove(objs[index], from[index], x, y, z, xw,
+                        yw, zw, depth, removed);
+                }
+                return insertAll(node, objs, inserts, insertCount, x, y, z, xw,
+                    yw, zw, depth);
+            }
+            int lxw = lowerWidth(xw, 0);
+            int lyw = lowerWidth(yw, 1);
+            int lzw = lowerWidth(zw, 2);
+            int ux = upperOrigin(x, xw, 0);
+            int uy = upperOrigin(y, yw, 1);
+            int uz = upperOrigin(z, zw, 2);
+            int uxw = upperWidth(xw, 0);
+            int uyw = upperWidth(yw, 1);
+            int uzw = upperWidth(zw, 2);
+            int[] lowerRemovals = new int[removalCount];
+            int[] upperRemovals = new int[removalCount];
+            int lowerRemovalCount = 0;
+            int upperRemovalCount = 0;
+            for (int i = 0; i < removalCount; i++) {
+                BoundingBox box = from[removals[i]];
+                if (box.intersects(x, y, z, lxw, lyw, lzw)) {
+                    lowerRemovals[lowerRemovalCount++] = removals[i];
+                }
+                if (box.intersects(ux, uy, uz, uxw, uyw, uzw)) {
+                    upperRemovals[upperRemovalCount++] = removals[i];
+                }
+            }
+            int[] lowerInserts = new int[insertCount];
+            int[] upperInserts = new int[insertCount];
+            int lowerInsertCount = 0;
+            int upperInsertCount = 0;
+            for (int i = 0; i < insertCount; i++) {
+                BoundingBox box = objs[inserts[i]].getBoundingBox();
+                if (box.intersects(x, y, z, lxw, lyw, lzw)) {
+                    lowerInserts[lowerInsertCount++] = inserts[i];
+                }
+                if (box.intersects(ux, uy, uz, uxw, uyw, uzw)) {
+                    upperInserts[upperInsertCount++] = inserts[i];
+                }
+            }
+            if (lowerRemovalCount + lowerInsertCount > 0) {
+                left = left.moveAll(objs, from, lowerRemovals,
+                    lowerRemovalCount, lowerInserts, lowerInsertCount, x, y, z,
+                    lxw, lyw, lzw, depth + 1);
+            }
+            if (upperRemovalCount + upperInsertCount > 0) {
+                right = right.moveAll(objs, from, upperRemovals,
+                    upperRemovalCount, upperInserts, upperInsertCount, ux, uy,
+                    uz, uxw, uyw, uzw, depth + 1);
+            }
+            count += insertCount - removalCount;
+            return this;
+        }
+
+
         @Override
         public void print(
-            StringBuilder builder,
+            ReportBuffer out,
             int depth,
-            BoundingBox region,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             Counter counter) {
-            appendIndent(builder, depth);
-            builder.append("I ").append(region.format()).append(" ").append(
-                depth).append("\r\n");
+            appendIndent(out.line(), depth);
+            out.line().append("I ");
+            appendRegion(out.line(), x, y, z, xw, yw, zw);
+            out.line().append(" ").append(depth);
+            out.endLine();
             counter.increment();
-            BoundingBox[] children = splitRegion(region, axis);
-            left.print(builder, depth + 1, children[0], counter);
-            right.print(builder, depth + 1, children[1], counter);
+            left.print(out, depth + 1, x, y, z, lowerWidth(xw, 0),
+                lowerWidth(yw, 1), lowerWidth(zw, 2), counter);
+            right.print(out, depth + 1, upperOrigin(x, xw, 0), upperOrigin(
+                y, yw, 1), upperOrigin(z, zw, 2), upperWidth(xw, 0), upperWidth(
+                    yw, 1), upperWidth(zw, 2), counter);
         }
 
 
         @Override
         public void collectCollisions(
-            StringBuilder builder,
-            BoundingBox region,
+            ReportBuffer out,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth) {
-            BoundingBox[] children = splitRegion(region, axis);
-            left.collectCollisions(builder, children[0], depth + 1);
-            right.collectCollisions(builder, children[1], depth + 1);
+            left.collectCollisions(out, x, y, z, lowerWidth(xw, 0),
+                lowerWidth(yw, 1), lowerWidth(zw, 2), depth + 1);
+            right.collectCollisions(out, upperOrigin(x, xw, 0), upperOrigin(
+                y, yw, 1), upperOrigin(z, zw, 2), upperWidth(xw, 0), upperWidth(
+                    yw, 1), upperWidth(zw, 2), depth + 1);
         }
 
 
         @Override
         public void intersect(
             BoundingBox query,
-            BoundingBox region,
+            int x,
+            int y,
+            int z,
+            int xw,
+            int yw,
+            int zw,
             int depth,
-            StringBuilder builder,
+            ReportBuffer out,
             Counter counter) {
             counter.increment();
-            builder.append("In Internal node ").append(region.format()).append(
-                " ").append(depth).append("\r\n");
-            BoundingBox[] children = splitRegion(region, axis);
-            if (children[0].intersects(query)) {
-                left.intersect(query, children[0], depth + 1, builder, counter);
+            out.line().append("In Internal node ");
+            appendRegion(out.line(), x, y, z, xw, yw, zw);
+            out.line().append(" ").append(depth);
+            out.endLine();
+            if (query.intersects(x, y, z, lowerWidth(xw, 0), lowerWidth(yw, 1),
+                lowerWidth(zw, 2))) {
+                left.intersect(query, x, y, z, lowerWidth(xw, 0), lowerWidth(yw,
+                    1), lowerWidth(zw, 2), depth + 1, out, counter);
             }
-            if (children[1].intersects(query)) {
-                right.intersect(query, children[1], depth + 1, builder,
-                    counter);
+            if (query.intersects(upperOrigin(x, xw, 0), upperOrigin(y, yw, 1),
+                upperOrigin(z, zw, 2), upperWidth(xw, 0), upperWidth(yw, 1),
+                upperWidth(zw, 2))) {
+                right.intersect(query, upperOrigin(x, xw, 0), upperOrigin(y, yw,
+                    1), upperOrigin(z, zw, 2), upperWidth(xw, 0), upperWidth(yw,
+                        1), upperWidth(zw, 2), depth + 1, out, counter);
             }
         }
 
@@ -519,6 +1468,45 @@ public class Bintree {
         }
 
 
+        @Override
+        public int shapeLength() {
+            return 2 + left.shapeLength() + right.shapeLength();
+        }
+
+
+        @Override
+        public void writeShape(IntBuffer out, AirObject[] byName, int count) {
+            out.put(INTERNAL_SHAPE);
+            out.put(this.count);
+            left.writeShape(out, byName, count);
+            right.writeShape(out, byName, count);
+        }
+
+
+        /**
+         * @return width of the lower child along dimension dim
+         */
+        private int lowerWidth(int width, int dim) {
+            return dim == axis ? splitWidth(width) : width;
+        }
+
+
+        /**
+         * @return origin of the upper child along dimension dim
+         */
+        private int upperOrigin(int origin, int width, int dim) {
+            return dim == axis ? origin + splitWidth(width) : origin;
+        }
+
+
+        /**
+         * @return width of the upper child along dimension dim
+         */
+        private int upperWidth(int width, int dim) {
+            return dim == axis ? width - splitWidth(width) : width;
+        }
+
+
         private void gatherObjects(BintreeNode node, AirObjectStorage storage) {
             if (node.isFlyweight()) {
                 return;
@@ -543,45 +1531,204 @@ public class Bintree {
 
 
     /**
-     * Simple storage helper to avoid using ArrayList.
+     * Lines reported by one subtree walked serially. Chunks of sibling
+     * subtrees are chained left then right, so following {@code next} from
+     * the root task's chunk gives the lines in serial preorder.
+     */
+    private static final class LineChunk implements ReportSink {
+        private String[] lines = new String[4];
+        private int count;
+        private LineChunk next;
+        private LineChunk last = this;
+
+        @Override
+        public void line(CharSequence line) {
+            if (count == lines.length) {
+                String[] grown = new String[count * 2];
+                System.arraycopy(lines, 0, grown, 0, count);
+                lines = grown;
+            }
+            lines[count++] = line.toString();
+        }
+
+
+        /**
+         * Appends another chain after this one.
+         *
+         * @param after
+         *            head of the chain to append
+         * @return this chain
+         */
+        LineChunk chain(LineChunk after) {
+            last.next = after;
+            last = after.last;
+            return this;
+        }
+    }
+
+
+    /**
+     * Collects the collisions of one subtree into its own chunk chain.
+     * Internal nodes near the root fork a task for the left child, compute
+     * the right child themselves and chain left then right, which preserves
+     * the preorder of the serial walk without copying any text.
+     */
+    private class CollisionTask extends RecursiveTask<LineChunk> {
+        private static final long serialVersionUID = 1L;
+        private final BintreeNode node;
+        private final int x;
+        private final int y;
+        private final int z;
+        private final int xw;
+        private final int yw;
+        private final int zw;
+        private final int depth;
+
+        CollisionTask(
+            BintreeNode subtree,
+            int rx,
+            int ry,
+            int rz,
+            int rxw,
+            int ryw,
+            int rzw,
+            int nodeDepth) {
+            node = subtree;
+            x = rx;
+            y = ry;
+            z = rz;
+            xw = rxw;
+            yw = ryw;
+            zw = rzw;
+            depth = nodeDepth;
+        }
+
+
+        @Override
+        protected LineChunk compute() {
+            if (!(node instanceof InternalNode)
+                || depth >= PARALLEL_DEPTH_LIMIT) {
+                LineChunk chunk = new LineChunk();
+                node.collectCollisions(new ReportBuffer(chunk), x, y, z, xw,
+                    yw, zw, depth);
+                return chunk;
+            }
+            InternalNode internal = (InternalNode)node;
+            CollisionTask lower = new CollisionTask(internal.left, x, y, z,
+                internal.lowerWidth(xw, 0), internal.lowerWidth(yw, 1),
+                internal.lowerWidth(zw, 2), depth + 1);
+            CollisionTask upper = new CollisionTask(internal.right, internal
+                .upperOrigin(x, xw, 0), internal.upperOrigin(y, yw, 1),
+                internal.upperOrigin(z, zw, 2), internal.upperWidth(xw, 0),
+                internal.upperWidth(yw, 1), internal.upperWidth(zw, 2), depth
+                    + 1);
+            lower.fork();
+            LineChunk right = upper.compute();
+            return lower.join().chain(right);
+        }
+    }
+
+
+    /**
+     * Simple storage helper to avoid using ArrayList. Entries are kept in
+     * name order, and each entry's box is copied into parallel primitive
+     * arrays (minimum and exclusive maximum per axis) so that overlap scans
+     * read contiguous ints instead of dereferencing every AirObject and its
+     * BoundingBox.
+     * <p>
+     * Once a leaf grows past {@link #SCAN_LIMIT} entries, membership is
+     * tracked in an identity hash table and positions are found by binary
+     * search, so an insert costs O(log n) comparisons plus one block move.
+     * The intersection of all boxes is narrowed on every insert so the split
+     * check does not rescan the leaf. Entries always stay in name order, so
+     * queries never mutate a leaf and can run concurrently.
      */
     private static class AirObjectStorage {
+        private static final int SCAN_LIMIT = 8;
+
         private AirObject[] data;
+        private int[] minX;
+        private int[] minY;
+        private int[] minZ;
+        private int[] maxX;
+        private int[] maxY;
+        private int[] maxZ;
         private int size;
+        private AirObject[] members;
+        private int commonMinX;
+        private int commonMinY;
+        private int commonMinZ;
+        private int commonMaxX;
+        private int commonMaxY;
+        private int commonMaxZ;
+        private boolean commonStale;
 
         AirObjectStorage() {
             data = new AirObject[4];
+            minX = new int[4];
+            minY = new int[4];
+            minZ = new int[4];
+            maxX = new int[4];
+            maxY = new int[4];
+            maxZ = new int[4];
             size = 0;
         }
 
 
-        void add(AirObject obj) {
+        boolean add(AirObject obj) {
             if (contains(obj)) {
-                return;
+                return false;
             }
             ensureCapacity(size + 1);
-            int index = size;
-            while (index > 0 && compare(obj, data[index - 1]) < 0) {
-                data[index] = data[index - 1];
-                index--;
-            }
-            data[index] = obj;
+            int index = upperBound(obj);
+            shift(index, index + 1, size - index);
+            set(index, obj);
             size++;
+            remember(obj);
+            narrowCommon(index);
+            return true;
+        }
+
+
+        /**
+         * Appends an object known to be absent and to sort after every
+         * stored entry.
+         */
+        void append(AirObject obj) {
+            ensureCapacity(size + 1);
+            set(size++, obj);
+            remember(obj);
+            narrowCommon(size - 1);
         }
 
 
         boolean remove(AirObject obj) {
-            for (int i = 0; i < size; i++) {
-                if (data[i] == obj) {
-                    for (int j = i + 1; j < size; j++) {
-                        data[j - 1] = data[j];
-                    }
-                    size--;
-                    data[size] = null;
-                    return true;
-                }
+            int index = indexOf(obj);
+            if (index < 0) {
+                return false;
             }
-            return false;
+            shift(index + 1, index, size - index - 1);
+            size--;
+            data[size] = null;
+            forget(obj);
+            commonStale = true;
+            return true;
+        }
+
+
+        /**
+         * Re-reads the coordinates of a stored object after its box changed.
+         *
+         * @return false if the object is not stored here
+         */
+        boolean refresh(AirObject obj) {
+            int index = indexOf(obj);
+            if (index < 0) {
+                return false;
+            }
+            set(index, obj);
+            commonStale = true;
+            return true;
         }
 
 
@@ -600,12 +1747,37 @@ public class Bintree {
         }
 
 
-        AirObject[] toArray() {
-            AirObject[] copy = new AirObject[size];
-            for (int i = 0; i < size; i++) {
-                copy[i] = data[i];
+        /**
+         * @return true if entries i and j overlap with non-zero volume
+         */
+        boolean overlaps(int i, int j) {
+            return minX[i] < maxX[j] && minX[j] < maxX[i] && minY[i] < maxY[j]
+                && minY[j] < maxY[i] && minZ[i] < maxZ[j] && minZ[j] < maxZ[i];
+        }
+
+
+        /**
+         * All boxes share a common volume exactly when, on every axis, the
+         * largest start lies before the smallest end.
+         */
+        boolean shareVolume() {
+            if (size <= 1) {
+                return true;
             }
-            return copy;
+            if (commonStale) {
+                commonStale = false;
+                resetCommon(0);
+                for (int i = 1; i < size; i++) {
+                    narrowCommon(i);
+                }
+            }
+            return commonMinX < commonMaxX && commonMinY < commonMaxY
+                && commonMinZ < commonMaxZ;
+        }
+
+
+        AirObject[] toArray() {
+            return Arrays.copyOf(data, size);
         }
 
 
@@ -616,7 +1788,70 @@ public class Bintree {
         }
 
 
+        private void set(int index, AirObject obj) {
+            BoundingBox box = obj.getBoundingBox();
+            data[index] = obj;
+            minX[index] = box.getX();
+            minY[index] = box.getY();
+            minZ[index] = box.getZ();
+            maxX[index] = end(box.getX(), box.getXWidth());
+            maxY[index] = end(box.getY(), box.getYWidth());
+            maxZ[index] = end(box.getZ(), box.getZWidth());
+        }
+
+
+        private void shift(int from, int to, int length) {
+            System.arraycopy(data, from, data, to, length);
+            System.arraycopy(minX, from, minX, to, length);
+            System.arraycopy(minY, from, minY, to, length);
+            System.arraycopy(minZ, from, minZ, to, length);
+            System.arraycopy(maxX, from, maxX, to, length);
+            System.arraycopy(maxY, from, maxY, to, length);
+            System.arraycopy(maxZ, from, maxZ, to, length);
+        }
+
+
+        /**
+         * Folds the box at the given index into the common intersection,
+         * which restarts from that box when it is the only entry. Does
+         * nothing while a removal has left the intersection stale.
+         */
+        private void narrowCommon(int index) {
+            if (commonStale) {
+                return;
+            }
+            if (size == 1) {
+                resetCommon(index);
+                return;
+            }
+            commonMinX = Math.max(commonMinX, minX[index]);
+            commonMinY = Math.max(commonMinY, minY[index]);
+            commonMinZ = Math.max(commonMinZ, minZ[index]);
+            commonMaxX = Math.min(commonMaxX, maxX[index]);
+            commonMaxY = Math.min(commonMaxY, maxY[index]);
+            commonMaxZ = Math.min(commonMaxZ, maxZ[index]);
+        }
+
+
+        private void resetCommon(int index) {
+            commonMinX = minX[index];
+            commonMinY = minY[index];
+            commonMinZ = minZ[index];
+            commonMaxX = maxX[index];
+            commonMaxY = maxY[index];
+            commonMaxZ = maxZ[index];
+        }
+
+
+        private static int end(int origin, int width) {
+            return (int)Math.min(Integer.MAX_VALUE, (long)origin + width);
+        }
+
+
         private boolean contains(AirObject obj) {
+            if (members != null) {
+                return slotOf(obj) >= 0;
+            }
             for (int i = 0; i < size; i++) {
                 if (data[i] == obj) {
                     return true;
@@ -626,6 +1861,154 @@ public class Bintree {
         }
 
 
+        /**
+         * @return index of the given reference, or -1 when it is not stored
+         */
+        private int indexOf(AirObject obj) {
+            if (members == null) {
+                for (int i = 0; i < size; i++) {
+                    if (data[i] == obj) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+            if (slotOf(obj) < 0) {
+                return -1;
+            }
+            for (int i = lowerBound(obj); i < size; i++) {
+                if (data[i] == obj) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+
+        /**
+         * @return first index whose entry sorts after obj, so equal names
+         *         keep their insertion order
+         */
+        private int upperBound(AirObject obj) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(obj, data[mid]) < 0) {
+                    high = mid;
+                }
+                else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+
+        /**
+         * @return first index whose entry does not sort before obj
+         */
+        private int lowerBound(AirObject obj) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(obj, data[mid]) <= 0) {
+                    high = mid;
+                }
+                else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+
+        /**
+         * Records a newly stored reference in the identity table, building
+         * the table once the leaf outgrows a linear scan and doubling it to
+         * keep the load factor at or below one half.
+         */
+        private void remember(AirObject obj) {
+            if (members == null) {
+                if (size > SCAN_LIMIT) {
+                    rehash();
+                }
+                return;
+            }
+            if (size * 2 > members.length) {
+                rehash();
+                return;
+            }
+            insertMember(obj);
+        }
+
+
+        private void rehash() {
+            int capacity = 16;
+            while (capacity < size * 4) {
+                capacity <<= 1;
+            }
+            members = new AirObject[capacity];
+            for (int i = 0; i < size; i++) {
+                insertMember(data[i]);
+            }
+        }
+
+
+        private void insertMember(AirObject obj) {
+            int mask = members.length - 1;
+            int slot = hash(obj) & mask;
+            while (members[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            members[slot] = obj;
+        }
+
+
+        private int slotOf(AirObject obj) {
+            int mask = members.length - 1;
+            int slot = hash(obj) & mask;
+            while (members[slot] != null) {
+                if (members[slot] == obj) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+
+        /**
+         * Removes a reference from the identity table, shifting later
+         * entries of the probe run back so lookups never need tombstones.
+         */
+        private void forget(AirObject obj) {
+            if (members == null) {
+                return;
+            }
+            int mask = members.length - 1;
+            int hole = slotOf(obj);
+            members[hole] = null;
+            int slot = (hole + 1) & mask;
+            while (members[slot] != null) {
+                int home = hash(members[slot]) & mask;
+                if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                    members[hole] = members[slot];
+                    members[slot] = null;
+                    hole = slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+
+        private static int hash(AirObject obj) {
+            int h = System.identityHashCode(obj);
+            return h ^ (h >>> 16);
+        }
+
+
         private void ensureCapacity(int required) {
             if (required <= data.length) {
                 return;
@@ -634,11 +2017,13 @@ public class Bintree {
             while (newCapacity < required) {
                 newCapacity *= 2;
             }
-            AirObject[] newData = new AirObject[newCapacity];
-            for (int i = 0; i < size; i++) {
-                newData[i] = data[i];
-            }
-            data = newData;
+            data = Arrays.copyOf(data, newCapacity);
+            minX = Arrays.copyOf(minX, newCapacity);
+            minY = Arrays.copyOf(minY, newCapacity);
+            minZ = Arrays.copyOf(minZ, newCapacity);
+            maxX = Arrays.copyOf(maxX, newCapacity);
+            maxY = Arrays.copyOf(maxY, newCapacity);
+            maxZ = Arrays.copyOf(maxZ, newCapacity);
         }
 
 
@@ -667,6 +2052,86 @@ public class Bintree {
         }
     }
 
+    /**
+     * Builds the subtree for one region from the objects that intersect it.
+     * Name order is preserved through the partitioning, so leaves can be
+     * filled by appending.
+     */
+    private BintreeNode build(
+        AirObject[] objs,
+        int count,
+        int x,
+        int y,
+        int z,
+        int xw,
+        int yw,
+        int zw,
+        int depth) {
+        if (count == 0) {
+            return flyweight;
+        }
+        LeafNode leaf = new LeafNode();
+        for (int i = 0; i < count; i++) {
+            leaf.objects.append(objs[i]);
+        }
+        if (!splits(leaf.objects, xw, yw, zw, depth)) {
+            return leaf;
+        }
+        InternalNode internal = new InternalNode(depth % 3);
+        internal.count = count;
+        AirObject[] lower = new AirObject[count];
+        AirObject[] upper = new AirObject[count];
+        int lowerCount = 0;
+        int upperCount = 0;
+        for (int i = 0; i < count; i++) {
+            BoundingBox box = objs[i].getBoundingBox();
+            if (box.intersects(x, y, z, internal.lowerWidth(xw, 0), internal
+                .lowerWidth(yw, 1), internal.lowerWidth(zw, 2))) {
+                lower[lowerCount++] = objs[i];
+            }
+            if (box.intersects(internal.upperOrigin(x, xw, 0), internal
+                .upperOrigin(y, yw, 1), internal.upperOrigin(z, zw, 2),
+                internal.upperWidth(xw, 0), internal.upperWidth(yw, 1),
+                internal.upperWidth(zw, 2))) {
+                upper[upperCount++] = objs[i];
+            }
+        }
+        internal.left = build(lower, lowerCount, x, y, z, internal.lowerWidth(
+            xw, 0), internal.lowerWidth(yw, 1), internal.lowerWidth(zw, 2),
+            depth + 1);
+        internal.right = build(upper, upperCount, internal.upperOrigin(x, xw,
+            0), internal.upperOrigin(y, yw, 1), internal.upperOrigin(z, zw, 2),
+            internal.upperWidth(xw, 0), internal.upperWidth(yw, 1), internal
+                .upperWidth(zw, 2), depth + 1);
+        return internal;
+    }
+
+
+    /**
+     * Split rule shared by leaf insertion and bulk building: more than three
+     * objects that do not all share a common volume, in a region that is
+     * still wider than one cell along the next split axis.
+     */
+    private static boolean splits(
+        AirObjectStorage objects,
+        int xw,
+        int yw,
+        int zw,
+        int depth) {
+        return objects.size() > 3 && !objects.shareVolume()
+            && nextAxisWidth(xw, yw, zw, depth) > 1;
+    }
+
+
+    /**
+     * @return the region width along the axis split at the given depth
+     */
+    private static int nextAxisWidth(int xw, int yw, int zw, int depth) {
+        int axis = depth % 3;
+        return axis == 0 ? xw : axis == 1 ? yw : zw;
+    }
+
+
     static BoundingBox[] splitRegionForTest(BoundingBox region, int axis) {
         return splitRegion(region, axis);
     }
@@ -711,54 +2176,65 @@ public class Bintree {
         rightLeaf.add(obj);
         node.left = leftLeaf;
         node.right = rightLeaf;
+        node.count = 1;
         BooleanBox removed = new BooleanBox();
-        BintreeNode result = node.remove(obj, region, 0, removed);
+        BintreeNode result = node.remove(obj, obj.getBoundingBox(), 0, 0, 0,
+            64, 64, 64, 0, removed);
         return result == tree.flyweight;
     }
 
 
     private static BoundingBox[] splitRegion(BoundingBox region, int axis) {
+        int x = region.getX();
+        int y = region.getY();
+        int z = region.getZ();
+        int xw = region.getXWidth();
+        int yw = region.getYWidth();
+        int zw = region.getZWidth();
         BoundingBox[] children = new BoundingBox[2];
         if (axis == 0) {
-            int half = region.getXWidth() / 2;
-            if (half == 0) {
-                half = 1;
-            }
-            int remainder = region.getXWidth() - half;
-            children[0] = new BoundingBox(region.getX(), region.getY(), region
-                .getZ(), half, region.getYWidth(), region.getZWidth());
-            children[1] = new BoundingBox(region.getX() + half, region.getY(),
-                region.getZ(), remainder, region.getYWidth(), region
-                    .getZWidth());
+            int half = splitWidth(xw);
+            children[0] = new BoundingBox(x, y, z, half, yw, zw);
+            children[1] = new BoundingBox(x + half, y, z, xw - half, yw, zw);
         }
         else if (axis == 1) {
-            int half = region.getYWidth() / 2;
-            if (half == 0) {
-                half = 1;
-            }
-            int remainder = region.getYWidth() - half;
-            children[0] = new BoundingBox(region.getX(), region.getY(), region
-                .getZ(), region.getXWidth(), half, region.getZWidth());
-            children[1] = new BoundingBox(region.getX(), region.getY() + half,
-                region.getZ(), region.getXWidth(), remainder, region
-                    .getZWidth());
+            int half = splitWidth(yw);
+            children[0] = new BoundingBox(x, y, z, xw, half, zw);
+            children[1] = new BoundingBox(x, y + half, z, xw, yw - half, zw);
         }
         else {
-            int half = region.getZWidth() / 2;
-            if (half == 0) {
-                half = 1;
-            }
-            int remainder = region.getZWidth() - half;
-            children[0] = new BoundingBox(region.getX(), region.getY(), region
-                .getZ(), region.getXWidth(), region.getYWidth(), half);
-            children[1] = new BoundingBox(region.getX(), region.getY(), region
-                .getZ() + half, region.getXWidth(), region.getYWidth(),
-                remainder);
+            int half = splitWidth(zw);
+            children[0] = new BoundingBox(x, y, z, xw, yw, half);
+            children[1] = new BoundingBox(x, y, z + half, xw, yw, zw - half);
         }
         return children;
     }
 
 
+    /**
+     * Width of the lower half when a region of the given width is split; the
+     * lower half always receives at least one cell.
+     */
+    private static int splitWidth(int width) {
+        int half = width / 2;
+        return half == 0 ? 1 : half;
+    }
+
+
+    private static void appendRegion(
+        StringBuilder builder,
+        int x,
+        int y,
+        int z,
+        int xw,
+        int yw,
+        int zw) {
+        builder.append("(").append(x).append(", ").append(y).append(", ")
+            .append(z).append(", ").append(xw).append(", ").append(yw).append(
+                ", ").append(zw).append(")");
+    }
+
+
     private static void appendIndent(StringBuilder builder, int depth) {
         for (int i = 0; i < depth; i++) {
             builder.append("  ");
@@ -1,3 +1,5 @@
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import student.TestCase;
 
 /**
@@ -399,6 +401,130 @@ public class BintreeTest extends TestCase {
     }
 
 
+    /**
+     * The parallel collisions report must match the serial one exactly.
+     */
+    public void testParallelCollisionsMatchSerial() {
+        Bintree tree = new Bintree(new BoundingBox(0, 0, 0, 1024, 1024, 1024));
+        Random rnd = new Random(0xC0FFEE);
+        for (int i = 0; i < 600; i++) {
+            tree.insert(new Balloon("B" + i, rnd.nextInt(960), rnd.nextInt(960),
+                rnd.nextInt(960), 1 + rnd.nextInt(64), 1 + rnd.nextInt(64), 1
+                    + rnd.nextInt(64), "hot_air", 5));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        assertEquals(tree.collisionsReport(), tree.collisionsReport(pool));
+        pool.shutdown();
+        Bintree empty = new Bintree(world);
+        assertEquals(empty.collisionsReport(), empty.collisionsReport(
+            ForkJoinPool.commonPool()));
+    }
+
+
+    /**
+     * Sort-and-sweep collision detection in crowded leaves must report the
+     * same pairs, in the same order, as the pairwise loop.
+     */
+    public void testSweepCollisionsMatchPairwise() {
+        BoundingBox slab = new BoundingBox(0, 0, 0, 1, 1024, 1024);
+        Bintree sweep = new Bintree(slab, 1);
+        Bintree pairwise = new Bintree(slab, Integer.MAX_VALUE);
+        Bintree sweepWorld = new Bintree(new BoundingBox(0, 0, 0, 1024, 1024,
+            1024), 2);
+        Bintree pairwiseWorld = new Bintree(new BoundingBox(0, 0, 0, 1024,
+            1024, 1024), Integer.MAX_VALUE);
+        Random rnd = new Random(0xBADA55);
+        for (int i = 0; i < 400; i++) {
+            Balloon obj = new Balloon("S" + i, 0, rnd.nextInt(1000), rnd
+                .nextInt(1000), 1, 1 + rnd.nextInt(24), 1 + rnd.nextInt(24),
+                "hot_air", 5);
+            sweep.insert(obj);
+            pairwise.insert(obj);
+            sweepWorld.insert(obj);
+            pairwiseWorld.insert(obj);
+        }
+        assertEquals(pairwise.collisionsReport(), sweep.collisionsReport());
+        assertEquals(pairwiseWorld.collisionsReport(), sweepWorld
+            .collisionsReport());
+    }
+
+
+    /**
+     * A leaf large enough to use the identity table still ignores repeated
+     * references, keeps equal names in insertion order and lists entries by
+     * name after removals.
+     */
+    public void testLargeLeafKeepsNameOrderAndIdentity() {
+        Bintree tiny = new Bintree(new BoundingBox(0, 0, 0, 1, 1, 1));
+        Random rnd = new Random(0x1EAF);
+        Balloon[] objects = new Balloon[200];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = narrowBalloon("N" + (1000 + rnd.nextInt(150)));
+            tiny.insert(objects[i]);
+        }
+        for (int i = 0; i < objects.length; i += 3) {
+            tiny.insert(objects[i]);
+        }
+        for (int i = 0; i < objects.length; i += 4) {
+            tiny.remove(objects[i]);
+            tiny.remove(objects[i]);
+        }
+        String listing = tiny.print();
+        assertTrue(listing.contains("Leaf with 150 objects"));
+        String previous = "";
+        int from = 0;
+        for (int i = 0; i < 150; i++) {
+            int start = listing.indexOf("Balloon N", from) + 8;
+            String name = listing.substring(start, start + 5);
+            assertTrue(previous.compareTo(name) <= 0);
+            previous = name;
+            from = start;
+        }
+        Bintree sameName = new Bintree(new BoundingBox(0, 0, 0, 1, 1, 1));
+        Balloon first = narrowBalloon("twin");
+        Balloon second = new Balloon("twin", 0, 0, 0, 1, 1, 1, "gas", 7);
+        for (int i = 0; i < 20; i++) {
+            sameName.insert(narrowBalloon("filler" + i));
+        }
+        sameName.insert(first);
+        sameName.insert(second);
+        String twins = sameName.print();
+        assertTrue(twins.indexOf("hot_air 5", twins.indexOf("twin")) < twins
+            .indexOf("gas 7"));
+    }
+
+
+    /**
+     * Deleting down to three objects, several of which span many leaves,
+     * collapses the tree to the single leaf a fresh tree would hold.
+     */
+    public void testDeleteCollapsesUsingSubtreeCounts() {
+        Bintree tree = new Bintree(new BoundingBox(0, 0, 0, 1024, 1024,
+            1024));
+        Random rnd = new Random(0xC0DE);
+        Balloon[] objects = new Balloon[300];
+        for (int i = 0; i < objects.length; i++) {
+            int width = i % 10 == 0 ? 400 : 1 + rnd.nextInt(16);
+            objects[i] = new Balloon("C" + i, rnd.nextInt(600), rnd.nextInt(
+                600), rnd.nextInt(600), width, width, width, "hot_air", 5);
+            tree.insert(objects[i]);
+            tree.insert(objects[i]);
+        }
+        Bintree fresh = new Bintree(new BoundingBox(0, 0, 0, 1024, 1024,
+            1024));
+        for (int i = 0; i < objects.length; i++) {
+            if (i % 100 == 0) {
+                fresh.insert(objects[i]);
+            }
+            else {
+                assertTrue(tree.remove(objects[i]));
+                assertFalse(tree.remove(objects[i]));
+            }
+        }
+        assertEquals(fresh.print(), tree.print());
+    }
+
+
     private Balloon balloon(String name) {
         return new Balloon(name, 1, 1, 1, 2, 2, 2, "hot_air", 5);
     }
@@ -57,8 +57,8 @@ public class Bird extends AirObject {
 
 
     @Override
-    public String toString() {
-        return baseInfo() + " " + species + " " + number;
+    protected void appendDetails(StringBuilder out) {
+        out.append(' ').append(species).append(' ').append(number);
     }
 
 
@@ -132,9 +132,12 @@ public class BoundingBox {
         int nx = Math.max(x, other.x);
         int ny = Math.max(y, other.y);
         int nz = Math.max(z, other.z);
-        int nxw = Math.min(x + xWidth, other.x + other.xWidth) - nx;
-        int nyw = Math.min(y + yWidth, other.y + other.yWidth) - ny;
-        int nzw = Math.min(z + zWidth, other.z + other.zWidth) - nz;
+        int nxw = (int)(Math.min((long)x + xWidth, (long)other.x
+            + other.xWidth) - nx);
+        int nyw = (int)(Math.min((long)y + yWidth, (long)other.y
+            + other.yWidth) - ny);
+        int nzw = (int)(Math.min((long)z + zWidth, (long)other.z
+            + other.zWidth) - nz);
         return new BoundingBox(nx, ny, nz, nxw, nyw, nzw);
     }
 
@@ -162,18 +165,22 @@ public class BoundingBox {
      * @return true if the point lies within the box volume
      */
     public boolean containsPoint(int px, int py, int pz) {
-        return px >= x && px < x + xWidth && py >= y && py < y + yWidth
-            && pz >= z && pz < z + zWidth;
+        return px >= x && px < (long)x + xWidth && py >= y
+            && py < (long)y + yWidth && pz >= z && pz < (long)z + zWidth;
     }
 
 
+    /**
+     * Ends are computed in long arithmetic so that boxes reaching the top of
+     * the int range do not wrap around.
+     */
     private boolean overlapsOnAxis(
         int startA,
         int widthA,
         int startB,
         int widthB) {
-        int endA = startA + widthA;
-        int endB = startB + widthB;
+        long endA = (long)startA + widthA;
+        long endB = (long)startB + widthB;
         return startA < endB && startB < endA;
     }
 }
@@ -106,4 +106,19 @@ public class BoundingBoxTest extends TestCase {
         assertFalse(box.containsPoint(box.getX() + box.getXWidth(), box.getY(),
             box.getZ()));
     }
+
+
+    /**
+     * Boxes that end at the top of the int range still overlap correctly.
+     */
+    public void testIntersectsNearIntegerLimit() {
+        int edge = Integer.MAX_VALUE - 4;
+        BoundingBox high = new BoundingBox(edge, edge, edge, 4, 4, 4);
+        BoundingBox other = new BoundingBox(edge + 2, edge, edge, 2, 2, 2);
+        assertTrue(high.intersects(other));
+        assertTrue(high.containsPoint(edge + 3, edge, edge));
+        BoundingBox overlap = high.intersection(other);
+        assertEquals(2, overlap.getXWidth());
+        assertFalse(high.intersects(0, 0, 0, 4, 4, 4));
+    }
 }
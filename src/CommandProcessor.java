@@ -0,0 +1,541 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Runs a script of WorldDB commands, one per line, and writes the results.
+ * Tokens are separated by spaces or tabs and blank lines are skipped. The
+ * commands are
+ * <pre>
+ *   add airplane NAME X Y Z XW YW ZW CARRIER FLIGHT ENGINES
+ *   add balloon  NAME X Y Z XW YW ZW TYPE ASCENT
+ *   add bird     NAME X Y Z XW YW ZW SPECIES NUMBER
+ *   add drone    NAME X Y Z XW YW ZW BRAND ENGINES
+ *   add rocket   NAME X Y Z XW YW ZW ASCENT TRAJECTORY
+ *   delete NAME
+ *   move NAME X Y Z
+ *   print NAME
+ *   rangeprint START END
+ *   collisions
+ *   intersect X Y Z XW YW ZW
+ *   printbintree
+ *   printskiplist
+ * </pre>
+ * Keywords are matched without regard to case. A line that does not parse
+ * is reported as a bad command and skipped.
+ * <p>
+ * The script is read from a channel into one reusable byte buffer, and
+ * lines are parsed in place: keywords are compared as bytes and numbers are
+ * accumulated digit by digit, so the only Strings created are the names
+ * and text fields that the world keeps or looks up. Listings are streamed
+ * through the {@link ReportSink} query methods straight into the writer,
+ * which should be buffered; it is flushed once, at the end of the script.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+final class CommandProcessor implements ReportSink {
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final String LINE_END = "\r\n";
+    private static final byte[] ADD = ascii("add");
+    private static final byte[] DELETE = ascii("delete");
+    private static final byte[] MOVE = ascii("move");
+    private static final byte[] PRINT = ascii("print");
+    private static final byte[] RANGEPRINT = ascii("rangeprint");
+    private static final byte[] COLLISIONS = ascii("collisions");
+    private static final byte[] INTERSECT = ascii("intersect");
+    private static final byte[] PRINTBINTREE = ascii("printbintree");
+    private static final byte[] PRINTSKIPLIST = ascii("printskiplist");
+    private static final byte[] AIRPLANE = ascii("airplane");
+    private static final byte[] BALLOON = ascii("balloon");
+    private static final byte[] BIRD = ascii("bird");
+    private static final byte[] DRONE = ascii("drone");
+    private static final byte[] ROCKET = ascii("rocket");
+    private static final byte[][] KINDS = { AIRPLANE, BALLOON, BIRD, DRONE,
+        ROCKET };
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4,
+        1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+        1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private final WorldDB world;
+    private final Writer out;
+    private char[] chars;
+    private byte[] buffer;
+    private ByteBuffer input;
+    private boolean endOfInput;
+    private int position;
+    private int limit;
+    private int lineEnd;
+    private int tokenStart;
+    private int tokenEnd;
+    private boolean malformed;
+
+    /**
+     * Creates a processor that runs commands against a world.
+     *
+     * @param world
+     *            the world the commands act on
+     * @param out
+     *            receiver of the command output
+     */
+    CommandProcessor(WorldDB world, Writer out) {
+        this(world, out, BUFFER_BYTES);
+    }
+
+
+    /**
+     * Creates a processor with a given initial read buffer size. The buffer
+     * grows if a single line does not fit.
+     *
+     * @param world
+     *            the world the commands act on
+     * @param out
+     *            receiver of the command output
+     * @param bufferBytes
+     *            initial size of the read buffer
+     */
+    CommandProcessor(WorldDB world, Writer out, int bufferBytes) {
+        this.world = world;
+        this.out = out;
+        chars = new char[128];
+        buffer = new byte[Math.max(16, bufferBytes)];
+        input = ByteBuffer.wrap(buffer);
+    }
+
+
+    /**
+     * Runs every command in the script, then flushes the writer.
+     *
+     * @param in
+     *            channel holding the script; it is read to the end but not
+     *            closed
+     * @return the number of commands run, not counting bad ones
+     * @throws IOException
+     *             if the script cannot be read or the output written
+     */
+    int run(ReadableByteChannel in) throws IOException {
+        int commands = 0;
+        position = 0;
+        limit = 0;
+        endOfInput = false;
+        while (nextLine(in)) {
+            int lineStart = position;
+            if (nextToken()) {
+                malformed = false;
+                boolean ran;
+                try {
+                    ran = execute();
+                }
+                catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                if (ran) {
+                    commands++;
+                }
+                else {
+                    out.write("Bad command: ");
+                    out.write(new String(buffer, lineStart, lineEnd - lineStart,
+                        StandardCharsets.UTF_8).trim());
+                    out.write(LINE_END);
+                }
+            }
+            position = lineEnd < limit ? lineEnd + 1 : limit;
+        }
+        out.flush();
+        return commands;
+    }
+
+
+    @Override
+    public void line(CharSequence line) {
+        try {
+            if (line instanceof String) {
+                out.write((String)line);
+            }
+            else {
+                int length = line.length();
+                if (chars.length < length) {
+                    chars = new char[Math.max(length, 2 * chars.length)];
+                }
+                if (line instanceof StringBuilder) {
+                    ((StringBuilder)line).getChars(0, length, chars, 0);
+                }
+                else {
+                    for (int i = 0; i < length; i++) {
+                        chars[i] = line.charAt(i);
+                    }
+                }
+                out.write(chars, 0, length);
+            }
+            out.write(LINE_END);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    // ----------------------------------------------------------
+    /**
+     * Runs the command whose keyword is the current token. Every argument
+     * is parsed before the world is touched, so a bad line has no effect.
+     *
+     * @return false if the line is not a well-formed command
+     */
+    private boolean execute() throws IOException {
+        if (tokenIs(ADD)) {
+            return add();
+        }
+        if (tokenIs(DELETE)) {
+            String name = nextString();
+            if (!complete()) {
+                return false;
+            }
+            result(world.delete(name), name, " not found");
+            return true;
+        }
+        if (tokenIs(MOVE)) {
+            String name = nextString();
+            int x = nextInt();
+            int y = nextInt();
+            int z = nextInt();
+            if (!complete()) {
+                return false;
+            }
+            result(world.move(name, x, y, z), name, " not moved");
+            return true;
+        }
+        if (tokenIs(PRINT)) {
+            String name = nextString();
+            if (!complete()) {
+                return false;
+            }
+            result(world.print(name), name, " not found");
+            return true;
+        }
+        if (tokenIs(RANGEPRINT)) {
+            String start = nextString();
+            String end = nextString();
+            if (!complete()) {
+                return false;
+            }
+            if (!world.rangeprint(start, end, this)) {
+                line("Bad range " + start + " to " + end);
+            }
+            return true;
+        }
+        if (tokenIs(INTERSECT)) {
+            int x = nextInt();
+            int y = nextInt();
+            int z = nextInt();
+            int xwid = nextInt();
+            int ywid = nextInt();
+            int zwid = nextInt();
+            if (!complete()) {
+                return false;
+            }
+            if (!world.intersect(x, y, z, xwid, ywid, zwid, this)) {
+                line("Bad box (" + x + ", " + y + ", " + z + ", " + xwid
+                    + ", " + ywid + ", " + zwid + ")");
+            }
+            return true;
+        }
+        if (tokenIs(COLLISIONS)) {
+            if (!complete()) {
+                return false;
+            }
+            world.collisions(this);
+            return true;
+        }
+        if (tokenIs(PRINTBINTREE)) {
+            if (!complete()) {
+                return false;
+            }
+            world.printbintree(this);
+            return true;
+        }
+        if (tokenIs(PRINTSKIPLIST)) {
+            if (!complete()) {
+                return false;
+            }
+            world.printskiplist(this);
+            return true;
+        }
+        return false;
+    }
+
+
+    private boolean add() throws IOException {
+        if (!nextToken()) {
+            return false;
+        }
+        byte[] kind = null;
+        for (int k = 0; k < KINDS.length; k++) {
+            if (tokenIs(KINDS[k])) {
+                kind = KINDS[k];
+            }
+        }
+        if (kind == null) {
+            return false;
+        }
+        String name = nextString();
+        int x = nextInt();
+        int y = nextInt();
+        int z = nextInt();
+        int xwid = nextInt();
+        int ywid = nextInt();
+        int zwid = nextInt();
+        AirObject obj;
+        if (kind == AIRPLANE) {
+            String carrier = nextString();
+            int flight = nextInt();
+            obj = new AirPlane(name, x, y, z, xwid, ywid, zwid, carrier,
+                flight, nextInt());
+        }
+        else if (kind == BALLOON) {
+            String type = nextString();
+            obj = new Balloon(name, x, y, z, xwid, ywid, zwid, type,
+                nextInt());
+        }
+        else if (kind == BIRD) {
+            String species = nextString();
+            obj = new Bird(name, x, y, z, xwid, ywid, zwid, species,
+                nextInt());
+        }
+        else if (kind == DRONE) {
+            String brand = nextString();
+            obj = new Drone(name, x, y, z, xwid, ywid, zwid, brand,
+                nextInt());
+        }
+        else {
+            int ascent = nextInt();
+            obj = new Rocket(name, x, y, z, xwid, ywid, zwid, ascent,
+                nextDouble());
+        }
+        if (!complete()) {
+            return false;
+        }
+        out.write(name);
+        out.write(world.add(obj) ? " added" : " rejected");
+        out.write(LINE_END);
+        return true;
+    }
+
+
+    /**
+     * Writes a query result, or the name followed by a failure message if
+     * the result is null.
+     */
+    private void result(String text, String name, String failure)
+        throws IOException {
+        if (text != null) {
+            out.write(text);
+        }
+        else {
+            out.write(name);
+            out.write(failure);
+        }
+        out.write(LINE_END);
+    }
+
+
+    // ----------------------------------------------------------
+    /**
+     * Makes sure the next complete line is in the buffer, reading, moving
+     * and growing the buffer as needed. The last line need not end with a
+     * newline.
+     *
+     * @return false once the script is exhausted
+     */
+    private boolean nextLine(ReadableByteChannel in) throws IOException {
+        int scan = position;
+        while (true) {
+            for (; scan < limit; scan++) {
+                if (buffer[scan] == '\n') {
+                    lineEnd = scan;
+                    return true;
+                }
+            }
+            if (endOfInput) {
+                lineEnd = limit;
+                return position < limit;
+            }
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit
+                    - position);
+                scan -= position;
+                limit -= position;
+                position = 0;
+            }
+            else if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+                input = ByteBuffer.wrap(buffer);
+            }
+            input.limit(buffer.length).position(limit);
+            int read = in.read(input);
+            if (read < 0) {
+                endOfInput = true;
+            }
+            else {
+                limit += read;
+            }
+        }
+    }
+
+
+    /**
+     * Advances to the next token on the current line.
+     *
+     * @return false if the line has no more tokens
+     */
+    private boolean nextToken() {
+        while (position < lineEnd && isSpace(buffer[position])) {
+            position++;
+        }
+        if (position == lineEnd) {
+            return false;
+        }
+        tokenStart = position;
+        while (position < lineEnd && !isSpace(buffer[position])) {
+            position++;
+        }
+        tokenEnd = position;
+        return true;
+    }
+
+
+    /**
+     * @return true if the arguments parsed and nothing follows them
+     */
+    private boolean complete() {
+        return !malformed && !nextToken();
+    }
+
+
+    private boolean tokenIs(byte[] keyword) {
+        if (tokenEnd - tokenStart != keyword.length) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length; i++) {
+            int b = buffer[tokenStart + i];
+            if (b >= 'A' && b <= 'Z') {
+                b += 'a' - 'A';
+            }
+            if (b != keyword[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private String nextString() {
+        if (!nextToken()) {
+            malformed = true;
+            return null;
+        }
+        return new String(buffer, tokenStart, tokenEnd - tokenStart,
+            StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Parses the next token as a decimal int with an optional sign. A
+     * missing, non-numeric or out-of-range token marks the line malformed.
+     */
+    private int nextInt() {
+        if (!nextToken()) {
+            malformed = true;
+            return 0;
+        }
+        int index = tokenStart;
+        boolean negative = buffer[index] == '-';
+        if (negative || buffer[index] == '+') {
+            index++;
+        }
+        if (index == tokenEnd) {
+            malformed = true;
+            return 0;
+        }
+        long value = 0;
+        for (; index < tokenEnd; index++) {
+            int digit = buffer[index] - '0';
+            if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+                malformed = true;
+                return 0;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            malformed = true;
+            return 0;
+        }
+        return (int)value;
+    }
+
+
+    /**
+     * Parses the next token as a double. Plain decimals of up to 15 digits
+     * are exact in a double, as are powers of ten up to 1e22, so one
+     * division gives the correctly rounded value; anything else goes to
+     * {@link Double#parseDouble(String)}.
+     */
+    private double nextDouble() {
+        if (!nextToken()) {
+            malformed = true;
+            return 0;
+        }
+        int index = tokenStart;
+        boolean negative = buffer[index] == '-';
+        if (negative || buffer[index] == '+') {
+            index++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; index < tokenEnd; index++) {
+            int b = buffer[index];
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            }
+            else if (b >= '0' && b <= '9' && digits < MAX_EXACT_DIGITS) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            }
+            else {
+                break;
+            }
+        }
+        if (index == tokenEnd && digits > 0) {
+            double value = mantissa / POWERS_OF_TEN[Math.max(scale, 0)];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(new String(buffer, tokenStart, tokenEnd
+                - tokenStart, StandardCharsets.US_ASCII));
+        }
+        catch (NumberFormatException e) {
+            malformed = true;
+            return 0;
+        }
+    }
+
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+
+    private static byte[] ascii(String keyword) {
+        return keyword.getBytes(StandardCharsets.US_ASCII);
+    }
+}
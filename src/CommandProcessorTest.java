@@ -0,0 +1,151 @@
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import student.TestCase;
+
+/**
+ * Tests for {@link CommandProcessor}.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class CommandProcessorTest extends TestCase {
+    private static final String NL = "\r\n";
+
+    /**
+     * Runs a script and returns everything the processor wrote.
+     */
+    private String run(WorldDB world, String script, int bufferBytes)
+        throws Exception {
+        StringWriter out = new StringWriter();
+        CommandProcessor processor = new CommandProcessor(world, out,
+            bufferBytes);
+        processor.run(Channels.newChannel(new ByteArrayInputStream(script
+            .getBytes(StandardCharsets.UTF_8))));
+        return out.toString();
+    }
+
+
+    /**
+     * The script produces the same reports as the equivalent WorldDB calls,
+     * even when the read buffer is smaller than a line and lines end with
+     * CRLF or not at all.
+     *
+     * @throws Exception
+     */
+    public void testScriptMatchesDirectCalls() throws Exception {
+        String script = "add balloon B1 10 11 11 21 12 31 hot_air 15\n"
+            + "ADD Airplane Air1 0 10 1 20 2 30 USAir 717 4\r\n"
+            + "\n"
+            + "add drone Air2 100 1010 101 924 2 900 Droners 3\n"
+            + "  add\tbird pterodactyl 0 100 20 10 50 50 Dinosaur 1\n"
+            + "add bird pterodactyl 0 100 20 10 50 50 Dinosaur 1\n"
+            + "add rocket Enterprise 0 100 20 10 50 50 5000 99.29\n"
+            + "print Enterprise\n"
+            + "delete Enterprise\n"
+            + "delete Enterprise\n"
+            + "print Air1\n"
+            + "move B1 40 40 40\n"
+            + "printbintree\n"
+            + "printskiplist\n"
+            + "rangeprint a z\n"
+            + "rangeprint z a\n"
+            + "collisions\n"
+            + "intersect 0 0 0 1024 1024 1024\n"
+            + "intersect 0 0 0 0 1 1";
+
+        WorldDB expected = new WorldDB(new Random(0xCAFEBEEF));
+        StringBuilder want = new StringBuilder();
+        expected.add(new Balloon("B1", 10, 11, 11, 21, 12, 31, "hot_air",
+            15));
+        expected.add(new AirPlane("Air1", 0, 10, 1, 20, 2, 30, "USAir", 717,
+            4));
+        expected.add(new Drone("Air2", 100, 1010, 101, 924, 2, 900, "Droners",
+            3));
+        expected.add(new Bird("pterodactyl", 0, 100, 20, 10, 50, 50,
+            "Dinosaur", 1));
+        want.append("B1 added").append(NL).append("Air1 added").append(NL)
+            .append("Air2 added").append(NL).append("pterodactyl added")
+            .append(NL).append("pterodactyl rejected").append(NL);
+        Rocket rocket = new Rocket("Enterprise", 0, 100, 20, 10, 50, 50, 5000,
+            99.29);
+        assertTrue(expected.add(rocket));
+        want.append("Enterprise added").append(NL);
+        want.append(rocket).append(NL).append(expected.delete("Enterprise"))
+            .append(NL).append("Enterprise not found").append(NL);
+        want.append(expected.print("Air1")).append(NL);
+        want.append(expected.move("B1", 40, 40, 40)).append(NL);
+        want.append(expected.printbintree());
+        want.append(expected.printskiplist());
+        want.append(expected.rangeprint("a", "z"));
+        want.append("Bad range z to a\r\n");
+        want.append(expected.collisions());
+        want.append(expected.intersect(0, 0, 0, 1024, 1024, 1024));
+        want.append("Bad box (0, 0, 0, 0, 1, 1)\r\n");
+
+        String wanted = want.toString();
+        assertEquals(wanted, run(new WorldDB(new Random(0xCAFEBEEF)), script,
+            65536));
+        assertEquals(wanted, run(new WorldDB(new Random(0xCAFEBEEF)), script,
+            16));
+    }
+
+
+    /**
+     * Lines that do not parse are reported and change nothing.
+     *
+     * @throws Exception
+     */
+    public void testBadCommands() throws Exception {
+        WorldDB world = new WorldDB(new Random(1));
+        String output = run(world, "fly away\n"
+            + "add bird crow 5 5 5 30 30 x corvid 2\n"
+            + "add bird crow 5 5 5 30 30 30 corvid\n"
+            + "add bird crow 5 5 5 30 30 30 corvid 2 extra\n"
+            + "add zeppelin crow 5 5 5 30 30 30 corvid 2\n"
+            + "add bird crow 5 5 5 30 30 99999999999 corvid 2\n"
+            + "move crow 1 2\n"
+            + "printbintree now\n"
+            + "add rocket r1 1 1 1 2 2 2 10 1.5e1\n"
+            + "add rocket r2 1 1 1 2 2 2 10 -0.25\n"
+            + "add rocket r3 1 1 1 2 2 2 10 1.2.3\n", 64);
+        assertEquals("Bad command: fly away" + NL
+            + "Bad command: add bird crow 5 5 5 30 30 x corvid 2" + NL
+            + "Bad command: add bird crow 5 5 5 30 30 30 corvid" + NL
+            + "Bad command: add bird crow 5 5 5 30 30 30 corvid 2 extra" + NL
+            + "Bad command: add zeppelin crow 5 5 5 30 30 30 corvid 2" + NL
+            + "Bad command: add bird crow 5 5 5 30 30 99999999999 corvid 2"
+            + NL + "Bad command: move crow 1 2" + NL
+            + "Bad command: printbintree now" + NL
+            + "r1 added" + NL
+            + "r2 rejected" + NL
+            + "Bad command: add rocket r3 1 1 1 2 2 2 10 1.2.3" + NL, output);
+        assertNull(world.print("crow"));
+        assertEquals("Rocket r1 1 1 1 2 2 2 10 15.0", world.print("r1"));
+    }
+
+
+    /**
+     * Decimal trajectories parse to the same double as
+     * {@link Double#parseDouble(String)}.
+     *
+     * @throws Exception
+     */
+    public void testTrajectoryParsing() throws Exception {
+        String[] values = { "0", "7", "99.29", "0.1", "123456.789012345",
+            "3.14159265358979323846", "1e-3", "000.5", "12." };
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            script.append("add rocket r").append(i).append(" 1 1 1 2 2 2 10 ")
+                .append(values[i]).append('\n');
+        }
+        WorldDB world = new WorldDB(new Random(3));
+        run(world, script.toString(), 32);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals("Rocket r" + i + " 1 1 1 2 2 2 10 " + Double
+                .parseDouble(values[i]), world.print("r" + i));
+        }
+    }
+}
@@ -0,0 +1,369 @@
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Lock-free skip list of AirObject instances keyed by name. Forward pointers
+ * are {@link AtomicMarkableReference}s: a node is logically deleted by
+ * marking its forward pointers, and marked nodes are physically unlinked by
+ * whichever thread next walks past them. Searches and range traversals never
+ * block and never retry.
+ * <p>
+ * The public API mirrors {@link AirObjectSkipList}. Traversals are weakly
+ * consistent: they see every object present for the whole traversal and may
+ * or may not see objects inserted or removed while it runs.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class ConcurrentAirObjectSkipList {
+    private static final int MAX_LEVEL = 32;
+    private final Random random;
+    private final Node head;
+    private final AtomicInteger size;
+
+    /**
+     * Node definition. The head sentinel has a null key.
+     */
+    private static class Node {
+        private final AirObject value;
+        private final String key;
+        private final AtomicMarkableReference<Node>[] next;
+        private final int level;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Node(int nodeLevel, AirObject obj) {
+            level = nodeLevel;
+            value = obj;
+            key = obj == null ? null : obj.getName();
+            next = new AtomicMarkableReference[nodeLevel + 1];
+            for (int i = 0; i <= nodeLevel; i++) {
+                next[i] = new AtomicMarkableReference<Node>(null, false);
+            }
+        }
+
+
+        boolean isDeleted() {
+            return next[0].isMarked();
+        }
+    }
+
+    /**
+     * Constructs a skip list using the provided random number generator.
+     * {@link Random} is itself thread-safe, so it may be shared.
+     *
+     * @param rnd
+     *            random source (non-null)
+     */
+    public ConcurrentAirObjectSkipList(Random rnd) {
+        random = rnd;
+        head = new Node(MAX_LEVEL - 1, null);
+        size = new AtomicInteger();
+    }
+
+
+    /**
+     * Removes all entries from the skip list. Not atomic with respect to
+     * concurrent insertions or removals.
+     */
+    public void clear() {
+        for (int i = MAX_LEVEL - 1; i >= 0; i--) {
+            head.next[i].set(null, false);
+        }
+        size.set(0);
+    }
+
+
+    /**
+     * Inserts a new AirObject.
+     *
+     * @param obj
+     *            object to insert
+     * @return true if inserted, false if duplicate or invalid
+     */
+    public boolean insert(AirObject obj) {
+        if (obj == null || obj.getName() == null) {
+            return false;
+        }
+        String key = obj.getName();
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        Node fresh = null;
+        while (true) {
+            if (find(key, preds, succs)) {
+                return false;
+            }
+            if (fresh == null) {
+                fresh = new Node(randomLevel(), obj);
+            }
+            for (int i = 0; i <= fresh.level; i++) {
+                fresh.next[i].set(succs[i], false);
+            }
+            if (preds[0].next[0].compareAndSet(succs[0], fresh, false,
+                false)) {
+                break;
+            }
+        }
+        size.incrementAndGet();
+        linkUpperLevels(fresh, preds, succs);
+        return true;
+    }
+
+
+    /**
+     * Searches for an object by name. Wait-free.
+     *
+     * @param name
+     *            target name
+     * @return the matching object or null
+     */
+    public AirObject search(String name) {
+        if (name == null) {
+            return null;
+        }
+        Node candidate = descend(name).next[0].getReference();
+        while (candidate != null && candidate.isDeleted()) {
+            candidate = candidate.next[0].getReference();
+        }
+        if (candidate != null && name.equals(candidate.key)) {
+            return candidate.value;
+        }
+        return null;
+    }
+
+
+    /**
+     * Removes and returns the AirObject with the given name.
+     *
+     * @param name
+     *            name to delete
+     * @return removed object, or null if not found (or removed concurrently
+     *         by another thread)
+     */
+    public AirObject remove(String name) {
+        if (name == null) {
+            return null;
+        }
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        if (!find(name, preds, succs)) {
+            return null;
+        }
+        Node victim = succs[0];
+        boolean[] marked = new boolean[1];
+        for (int i = victim.level; i >= 1; i--) {
+            Node succ = victim.next[i].get(marked);
+            while (!marked[0]) {
+                victim.next[i].attemptMark(succ, true);
+                succ = victim.next[i].get(marked);
+            }
+        }
+        Node succ = victim.next[0].get(marked);
+        while (true) {
+            if (victim.next[0].compareAndSet(succ, succ, false, true)) {
+                find(name, preds, succs);
+                size.decrementAndGet();
+                return victim.value;
+            }
+            succ = victim.next[0].get(marked);
+            if (marked[0]) {
+                return null;
+            }
+        }
+    }
+
+
+    /**
+     * Traverses all nodes in ascending order.
+     *
+     * @param visitor
+     *            visitor invoked for each object
+     */
+    public void traverse(AirObjectSkipList.Visitor visitor) {
+        Node current = head.next[0].getReference();
+        while (current != null) {
+            if (!current.isDeleted()) {
+                visitor.visit(current.value);
+            }
+            current = current.next[0].getReference();
+        }
+    }
+
+
+    /**
+     * Traverses all nodes whose keys are within [start, end].
+     *
+     * @param start
+     *            start key (inclusive)
+     * @param end
+     *            end key (inclusive)
+     * @param visitor
+     *            visitor invoked for each match
+     */
+    public void traverseRange(
+        String start,
+        String end,
+        AirObjectSkipList.Visitor visitor) {
+        if (start == null || end == null) {
+            return;
+        }
+        Node current = descend(start).next[0].getReference();
+        while (current != null && current.key.compareTo(end) <= 0) {
+            if (!current.isDeleted() && current.key.compareTo(start) >= 0) {
+                visitor.visit(current.value);
+            }
+            current = current.next[0].getReference();
+        }
+    }
+
+
+    /**
+     * Prints the skip list in the same format as
+     * {@link AirObjectSkipList#formatStructure()}.
+     *
+     * @return formatted string
+     */
+    public String formatStructure() {
+        int highest = 0;
+        int count = 0;
+        Node current = head.next[0].getReference();
+        while (current != null) {
+            if (!current.isDeleted()) {
+                highest = Math.max(highest, current.level);
+                count++;
+            }
+            current = current.next[0].getReference();
+        }
+        if (count == 0) {
+            return "SkipList is empty";
+        }
+        StringBuilder builder = new StringBuilder();
+        appendNode(builder, highest, null);
+        current = head.next[0].getReference();
+        int printed = 0;
+        while (current != null && printed < count) {
+            if (!current.isDeleted()) {
+                appendNode(builder, current.level, current.value);
+                printed++;
+            }
+            current = current.next[0].getReference();
+        }
+        builder.append(printed).append(" skiplist nodes printed\r\n");
+        return builder.toString();
+    }
+
+
+    public int size() {
+        return size.get();
+    }
+
+
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+
+    /**
+     * Locates the predecessor and successor of key on every level, unlinking
+     * any marked nodes met on the way.
+     *
+     * @return true if an unmarked node with this key exists
+     */
+    private boolean find(String key, Node[] preds, Node[] succs) {
+        boolean[] marked = new boolean[1];
+        retry: while (true) {
+            Node pred = head;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                Node curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node succ = curr.next[level].get(marked);
+                    if (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false,
+                            false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                    }
+                    else if (curr.key.compareTo(key) < 0) {
+                        pred = curr;
+                        curr = succ;
+                    }
+                    else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return succs[0] != null && key.equals(succs[0].key);
+        }
+    }
+
+
+    /**
+     * Read-only descent that skips (without unlinking) marked nodes.
+     *
+     * @return the last node on level 0 whose key is below key
+     */
+    private Node descend(String key) {
+        Node pred = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node curr = pred.next[level].getReference();
+            while (curr != null) {
+                if (curr.isDeleted()) {
+                    curr = curr.next[level].getReference();
+                }
+                else if (curr.key.compareTo(key) < 0) {
+                    pred = curr;
+                    curr = curr.next[level].getReference();
+                }
+                else {
+                    break;
+                }
+            }
+        }
+        return pred;
+    }
+
+
+    private void linkUpperLevels(Node fresh, Node[] preds, Node[] succs) {
+        boolean[] marked = new boolean[1];
+        for (int i = 1; i <= fresh.level; i++) {
+            while (true) {
+                Node current = fresh.next[i].get(marked);
+                if (marked[0]) {
+                    // removed concurrently; leave the rest unlinked
+                    return;
+                }
+                Node succ = succs[i];
+                if (current != succ && !fresh.next[i].compareAndSet(current,
+                    succ, false, false)) {
+                    continue;
+                }
+                if (preds[i].next[i].compareAndSet(succ, fresh, false,
+                    false)) {
+                    break;
+                }
+                if (!find(fresh.key, preds, succs) || succs[0] != fresh) {
+                    return;
+                }
+            }
+        }
+    }
+
+
+    private void appendNode(StringBuilder builder, int level, AirObject obj) {
+        builder.append("Node has depth ").append(level + 1).append(", Value (");
+        builder.append(obj == null ? "null" : obj.toString());
+        builder.append(")\r\n");
+    }
+
+
+    private int randomLevel() {
+        int lvl = 0;
+        while (lvl < MAX_LEVEL - 1 && (random.nextInt() & 1) == 0) {
+            lvl++;
+        }
+        return lvl;
+    }
+}
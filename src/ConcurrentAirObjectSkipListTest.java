@@ -0,0 +1,119 @@
+import java.util.Random;
+import student.TestCase;
+
+/**
+ * Unit tests for {@link ConcurrentAirObjectSkipList}.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class ConcurrentAirObjectSkipListTest extends TestCase {
+    private ConcurrentAirObjectSkipList list;
+
+    /**
+     * Creates a deterministic skip list for each test.
+     */
+    public void setUp() {
+        list = new ConcurrentAirObjectSkipList(new Random(0xBEEF));
+    }
+
+
+    /**
+     * Helper for building simple balloon objects.
+     *
+     * @param name
+     *            object name
+     * @return balloon
+     */
+    private Balloon balloon(String name) {
+        return new Balloon(name, 1, 2, 3, 4, 5, 6, "hot", 10);
+    }
+
+
+    /**
+     * Single-threaded operations match the sequential skip list, including
+     * the structure listing for the same random seed.
+     */
+    public void testMatchesSequentialList() {
+        AirObjectSkipList plain = new AirObjectSkipList(new Random(0xBEEF));
+        String[] names = { "delta", "alpha", "echo", "alpha", "charlie",
+            "bravo" };
+        for (int i = 0; i < names.length; i++) {
+            Balloon obj = balloon(names[i]);
+            assertEquals(plain.insert(obj), list.insert(obj));
+        }
+        assertEquals(plain.formatStructure(), list.formatStructure());
+        assertEquals(plain.remove("echo").toString(), list.remove("echo")
+            .toString());
+        assertNull(list.remove("echo"));
+        plain.remove("echo");
+        assertEquals(plain.formatStructure(), list.formatStructure());
+        assertEquals(4, list.size());
+        assertNotNull(list.search("charlie"));
+        assertNull(list.search("echo"));
+        assertNull(list.search(null));
+        assertFalse(list.insert(null));
+    }
+
+
+    /**
+     * Range traversal visits keys inside the inclusive bounds in order.
+     */
+    public void testTraverseRange() {
+        list.insert(balloon("a"));
+        list.insert(balloon("c"));
+        list.insert(balloon("e"));
+        list.insert(balloon("g"));
+        StringBuilder seen = new StringBuilder();
+        list.traverseRange("b", "e", obj -> seen.append(obj.getName()));
+        assertEquals("ce", seen.toString());
+        list.traverseRange(null, "e", obj -> seen.append("!"));
+        StringBuilder all = new StringBuilder();
+        list.traverse(obj -> all.append(obj.getName()));
+        assertEquals("aceg", all.toString());
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals("SkipList is empty", list.formatStructure());
+    }
+
+
+    /**
+     * Concurrent inserts and removals from several threads leave exactly the
+     * expected objects behind.
+     *
+     * @throws InterruptedException
+     *             if the test thread is interrupted
+     */
+    public void testConcurrentInsertAndRemove() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    list.insert(balloon("t" + id + "_" + i));
+                }
+                for (int i = 0; i < 500; i += 2) {
+                    list.remove("t" + id + "_" + i);
+                }
+            });
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        assertEquals(1000, list.size());
+        int[] count = new int[1];
+        String[] previous = new String[1];
+        list.traverse(obj -> {
+            assertTrue(previous[0] == null || previous[0].compareTo(obj
+                .getName()) < 0);
+            previous[0] = obj.getName();
+            count[0]++;
+        });
+        assertEquals(1000, count[0]);
+        assertNotNull(list.search("t3_499"));
+        assertNull(list.search("t3_498"));
+    }
+}
@@ -0,0 +1,340 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe view of a {@link WorldDB}. Queries (print, rangeprint,
+ * collisions, intersect and the structure listings) only read the skip list
+ * and Bintree, so they run concurrently under a shared read lock; add,
+ * delete, move, applyTick and clear take the exclusive write lock.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class ConcurrentWorldDB implements ATC {
+    private final WorldDB world;
+    private final StampedLock lock;
+
+    /**
+     * Create a thread-safe world.
+     *
+     * @param r
+     *            A random number generator to use
+     */
+    public ConcurrentWorldDB(Random r) {
+        this(new WorldDB(r));
+    }
+
+
+    /**
+     * Wraps an existing world. The caller must not use the wrapped instance
+     * directly afterwards.
+     *
+     * @param db
+     *            world to guard
+     */
+    public ConcurrentWorldDB(WorldDB db) {
+        world = db;
+        lock = new StampedLock();
+    }
+
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            world.clear();
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    @Override
+    public boolean add(AirObject a) {
+        long stamp = lock.writeLock();
+        try {
+            return world.add(a);
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    @Override
+    public String delete(String name) {
+        long stamp = lock.writeLock();
+        try {
+            return world.delete(name);
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    /**
+     * Moves an object under the write lock.
+     *
+     * @param name
+     *            AirObject name
+     * @param x
+     *            new x origin
+     * @param y
+     *            new y origin
+     * @param z
+     *            new z origin
+     * @return the moved AirObject's string, or null if it was not moved
+     */
+    public String move(String name, int x, int y, int z) {
+        long stamp = lock.writeLock();
+        try {
+            return world.move(name, x, y, z);
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    /**
+     * Applies a tick of position updates under the write lock.
+     *
+     * @param batch
+     *            updates to apply
+     * @return the number of AirObjects that were moved
+     */
+    public int applyTick(TickBatch batch) {
+        long stamp = lock.writeLock();
+        try {
+            return world.applyTick(batch);
+        }
+        finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    /**
+     * Saves a snapshot under the read lock, so queries can continue while
+     * the file is written.
+     *
+     * @param file
+     *            destination file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        long stamp = lock.readLock();
+        try {
+            world.save(file);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    @Override
+    public String printskiplist() {
+        long stamp = lock.readLock();
+        try {
+            return world.printskiplist();
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    @Override
+    public String printbintree() {
+        long stamp = lock.readLock();
+        try {
+            return world.printbintree();
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    @Override
+    public String print(String name) {
+        long stamp = lock.readLock();
+        try {
+            return world.print(name);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    @Override
+    public String rangeprint(String min, String max) {
+        long stamp = lock.readLock();
+        try {
+            return world.rangeprint(min, max);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    @Override
+    public String collisions() {
+        long stamp = lock.readLock();
+        try {
+            return world.collisions();
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    @Override
+    public String intersect(int x, int y, int z, int xwid, int ywid, int zwid) {
+        long stamp = lock.readLock();
+        try {
+            return world.intersect(x, y, z, xwid, ywid, zwid);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    /**
+     * Streams the Skiplist listing to a sink under the read lock.
+     *
+     * @param sink
+     *            receiver of the listing lines
+     */
+    public void printskiplist(ReportSink sink) {
+        long stamp = lock.readLock();
+        try {
+            world.printskiplist(sink);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    /**
+     * Streams the Bintree listing to a sink under the read lock.
+     *
+     * @param sink
+     *            receiver of the listing lines
+     */
+    public void printbintree(ReportSink sink) {
+        long stamp = lock.readLock();
+        try {
+            world.printbintree(sink);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    /**
+     * Streams the rangeprint listing to a sink under the read lock.
+     *
+     * @param min
+     *            Minimum of range
+     * @param max
+     *            Maximum of range
+     * @param sink
+     *            receiver of the listing lines
+     * @return false if the parameters are bad
+     */
+    public boolean rangeprint(String min, String max, ReportSink sink) {
+        long stamp = lock.readLock();
+        try {
+            return world.rangeprint(min, max, sink);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    /**
+     * Streams the collisions listing to a sink under the read lock.
+     *
+     * @param sink
+     *            receiver of the listing lines
+     */
+    public void collisions(ReportSink sink) {
+        long stamp = lock.readLock();
+        try {
+            world.collisions(sink);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    /**
+     * Computes the collisions listing in parallel under the read lock.
+     *
+     * @param pool
+     *            fork-join pool that runs the subtree tasks
+     * @return String listing the AirObjects that participate in collisions.
+     */
+    public String collisions(ForkJoinPool pool) {
+        long stamp = lock.readLock();
+        try {
+            return world.collisions(pool);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    /**
+     * Streams the intersect listing to a sink under the read lock.
+     *
+     * @param x
+     *            Bounding box upper left x
+     * @param y
+     *            Bounding box upper left y
+     * @param z
+     *            Bounding box upper left z
+     * @param xwid
+     *            Bounding box x width
+     * @param ywid
+     *            Bounding box y width
+     * @param zwid
+     *            Bounding box z width
+     * @param sink
+     *            receiver of the listing lines
+     * @return false if any input parameters are bad
+     */
+    public boolean intersect(
+        int x,
+        int y,
+        int z,
+        int xwid,
+        int ywid,
+        int zwid,
+        ReportSink sink) {
+        long stamp = lock.readLock();
+        try {
+            return world.intersect(x, y, z, xwid, ywid, zwid, sink);
+        }
+        finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
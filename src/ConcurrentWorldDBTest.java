@@ -0,0 +1,93 @@
+import java.util.Random;
+import student.TestCase;
+
+/**
+ * Tests for {@link ConcurrentWorldDB}.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class ConcurrentWorldDBTest extends TestCase {
+    private ConcurrentWorldDB world;
+
+    /**
+     * Creates a fresh world for each test.
+     */
+    public void setUp() {
+        world = new ConcurrentWorldDB(new Random(0xCAFEBEEF));
+    }
+
+
+    /**
+     * Single-threaded use behaves exactly like the wrapped WorldDB.
+     */
+    public void testMatchesWorldDB() {
+        WorldDB plain = new WorldDB(new Random(0xCAFEBEEF));
+        Balloon first = new Balloon("B1", 10, 11, 11, 21, 12, 31, "hot_air",
+            15);
+        Bird second = new Bird("pterodactyl", 0, 100, 20, 10, 50, 50,
+            "Dinosaur", 1);
+        assertTrue(world.add(first));
+        assertTrue(world.add(second));
+        assertFalse(world.add(second));
+        plain.add(first);
+        plain.add(second);
+        assertEquals(plain.printskiplist(), world.printskiplist());
+        assertEquals(plain.printbintree(), world.printbintree());
+        assertEquals(plain.print("B1"), world.print("B1"));
+        assertEquals(plain.rangeprint("a", "z"), world.rangeprint("a", "z"));
+        assertEquals(plain.collisions(), world.collisions());
+        assertEquals(plain.intersect(0, 0, 0, 64, 64, 64), world.intersect(0,
+            0, 0, 64, 64, 64));
+        assertEquals(plain.delete("B1"), world.delete("B1"));
+        world.clear();
+        assertNull(world.print("pterodactyl"));
+    }
+
+
+    /**
+     * Readers running alongside a writer never fail and the final state
+     * reflects every write.
+     *
+     * @throws InterruptedException
+     *             if the test thread is interrupted
+     */
+    public void testReadersAlongsideWriter() throws InterruptedException {
+        final boolean[] failed = new boolean[1];
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 400; i++) {
+                world.add(new Balloon("obj" + i, i % 1000, (i * 7) % 1000,
+                    (i * 13) % 1000, 10, 10, 10, "hot", 5));
+                if (i % 3 == 0) {
+                    world.delete("obj" + (i / 2));
+                }
+            }
+        });
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 200; i++) {
+                        world.print("obj" + i);
+                        world.intersect(0, 0, 0, 512, 512, 512);
+                        world.rangeprint("obj1", "obj3");
+                    }
+                }
+                catch (RuntimeException e) {
+                    failed[0] = true;
+                }
+            });
+        }
+        writer.start();
+        for (int r = 0; r < readers.length; r++) {
+            readers[r].start();
+        }
+        writer.join();
+        for (int r = 0; r < readers.length; r++) {
+            readers[r].join();
+        }
+        assertFalse(failed[0]);
+        assertNotNull(world.print("obj399"));
+        assertNull(world.print("obj0"));
+    }
+}
@@ -57,8 +57,8 @@ public class Drone extends AirObject {
 
 
     @Override
-    public String toString() {
-        return baseInfo() + " " + brand + " " + engines;
+    protected void appendDetails(StringBuilder out) {
+        out.append(' ').append(brand).append(' ').append(engines);
     }
 
 
@@ -0,0 +1,343 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * A {@link WorldDB} whose mutations survive a restart. The state lives in a
+ * directory holding a snapshot ({@link WorldDB#save(Path)}) and a
+ * {@link WriteAheadLog} of every successful add, delete, move, tick and
+ * clear since that snapshot. Opening the directory loads the snapshot and
+ * replays the log. Once the log grows past a size limit it is compacted:
+ * the current state is written to a new snapshot, which replaces the old
+ * one atomically, and the log is emptied.
+ * <p>
+ * Each mutation is applied in memory first and logged only if it changed
+ * something. Fsyncs are grouped (see {@link WriteAheadLog}), so the group
+ * size trades the number of mutations a crash may lose against throughput.
+ * Queries go straight to the in-memory world. Like WorldDB, this class is
+ * not thread-safe.
+ * <p>
+ * A mutation that throws {@link UncheckedIOException} has already been
+ * applied in memory, but it may not be in the log. If the log itself
+ * failed (a write, fsync or truncate), every later mutation and
+ * {@link #sync()} throws without touching the world. Queries keep
+ * answering from memory, and that may include the unlogged mutation. The
+ * caller should {@link #close()} and reopen the directory, which recovers
+ * the last durable state. If only a compaction's snapshot write failed,
+ * the log is intact and mutations keep working.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class DurableWorldDB implements ATC, Closeable {
+    private static final String SNAPSHOT_FILE = "world.snapshot";
+    private static final String LOG_FILE = "world.wal";
+    private static final int DEFAULT_GROUP_SIZE = 1024;
+    private static final long DEFAULT_COMPACT_BYTES = 64L * 1024 * 1024;
+
+    private final WorldDB world;
+    private final WriteAheadLog log;
+    private final Path snapshot;
+    private final long compactBytes;
+
+    private DurableWorldDB(
+        WorldDB db,
+        WriteAheadLog wal,
+        Path snapshotFile,
+        long compactLimit) {
+        world = db;
+        log = wal;
+        snapshot = snapshotFile;
+        compactBytes = compactLimit;
+    }
+
+
+    /**
+     * Opens (or creates) a durable world of the default size, with 1024
+     * mutations per fsync and compaction once the log reaches 64 MB.
+     *
+     * @param directory
+     *            directory holding the snapshot and log
+     * @param r
+     *            A random number generator to use
+     * @return the recovered world
+     * @throws IOException
+     *             if the files cannot be read or created
+     */
+    public static DurableWorldDB open(Path directory, Random r)
+        throws IOException {
+        return open(directory, r, WorldDB.DEFAULT_WORLD_SIZE,
+            DEFAULT_GROUP_SIZE, DEFAULT_COMPACT_BYTES);
+    }
+
+
+    /**
+     * Opens (or creates) a durable world.
+     *
+     * @param directory
+     *            directory holding the snapshot and log
+     * @param r
+     *            A random number generator to use
+     * @param worldSize
+     *            extent of a newly created world; an existing snapshot
+     *            keeps its own size
+     * @param groupSize
+     *            number of mutations per fsync; 1 makes every mutation
+     *            durable before it returns
+     * @param compactBytes
+     *            log size that triggers compaction
+     * @return the recovered world
+     * @throws IOException
+     *             if the files cannot be read or created
+     */
+    public static DurableWorldDB open(
+        Path directory,
+        Random r,
+        int worldSize,
+        int groupSize,
+        long compactBytes)
+        throws IOException {
+        Files.createDirectories(directory);
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        WorldDB db = Files.exists(snapshotFile)
+            ? WorldDB.load(snapshotFile, r)
+            : new WorldDB(r, worldSize);
+        WriteAheadLog wal = new WriteAheadLog(directory.resolve(LOG_FILE),
+            groupSize);
+        try {
+            syncDirectory(directory);
+            wal.replay(db);
+        }
+        catch (IOException e) {
+            wal.close();
+            throw e;
+        }
+        return new DurableWorldDB(db, wal, snapshotFile, compactBytes);
+    }
+
+
+    @Override
+    public void clear() {
+        requireLog();
+        world.clear();
+        try {
+            log.clear();
+            compactIfNeeded();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    @Override
+    public boolean add(AirObject a) {
+        requireLog();
+        if (!world.add(a)) {
+            return false;
+        }
+        try {
+            log.add(a);
+            compactIfNeeded();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+
+    @Override
+    public String delete(String name) {
+        requireLog();
+        String removed = world.delete(name);
+        if (removed != null) {
+            try {
+                log.delete(name);
+                compactIfNeeded();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return removed;
+    }
+
+
+    /**
+     * Moves an object and logs the move.
+     *
+     * @param name
+     *            AirObject name
+     * @param x
+     *            new x origin
+     * @param y
+     *            new y origin
+     * @param z
+     *            new z origin
+     * @return the moved AirObject's string, or null if it was not moved
+     */
+    public String move(String name, int x, int y, int z) {
+        requireLog();
+        String moved = world.move(name, x, y, z);
+        if (moved != null) {
+            try {
+                log.move(name, x, y, z);
+                compactIfNeeded();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return moved;
+    }
+
+
+    /**
+     * Applies a tick of position updates and logs the updates that took
+     * effect as one record.
+     *
+     * @param batch
+     *            updates to apply
+     * @return the number of AirObjects that were moved
+     */
+    public int applyTick(TickBatch batch) {
+        requireLog();
+        TickBatch applied = new TickBatch();
+        int moved = world.applyTick(batch, applied);
+        if (moved > 0) {
+            try {
+                log.tick(applied);
+                compactIfNeeded();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return moved;
+    }
+
+
+    /**
+     * Forces every logged mutation to disk, completing a partial group.
+     *
+     * @throws IOException
+     *             if the log cannot be written
+     */
+    public void sync() throws IOException {
+        log.sync();
+    }
+
+
+    /**
+     * Writes the current state to a new snapshot and empties the log. The
+     * snapshot is written beside the old one and renamed over it, and the
+     * directory is synced before the log is emptied, so a crash leaves
+     * either the old snapshot and full log or the new snapshot. If the
+     * crash comes before the log is emptied, replaying it
+     * over the new snapshot is harmless. Every record is a mutation that
+     * succeeded, and a tick record holds only the updates that applyTick
+     * applied. So the last record naming an object (an add, a move to an
+     * absolute origin, a delete, or a clear) puts that object back in the
+     * state the snapshot holds.
+     *
+     * @throws IOException
+     *             if the snapshot cannot be written
+     */
+    public void compact() throws IOException {
+        log.sync();
+        Path fresh = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        world.save(fresh);
+        Files.move(fresh, snapshot, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(snapshot.toAbsolutePath().getParent());
+        log.reset();
+    }
+
+
+    /**
+     * Syncs and closes the log.
+     *
+     * @throws IOException
+     *             if the log cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+
+    @Override
+    public String printskiplist() {
+        return world.printskiplist();
+    }
+
+
+    @Override
+    public String printbintree() {
+        return world.printbintree();
+    }
+
+
+    @Override
+    public String print(String name) {
+        return world.print(name);
+    }
+
+
+    @Override
+    public String rangeprint(String min, String max) {
+        return world.rangeprint(min, max);
+    }
+
+
+    @Override
+    public String collisions() {
+        return world.collisions();
+    }
+
+
+    @Override
+    public String intersect(int x, int y, int z, int xwid, int ywid, int zwid) {
+        return world.intersect(x, y, z, xwid, ywid, zwid);
+    }
+
+
+    /**
+     * Rejects a mutation before it touches the world once the log has
+     * failed.
+     */
+    private void requireLog() {
+        try {
+            log.ensureUsable();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Forces a directory's entries to disk, so that a file created or
+     * renamed in it survives a crash.
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory,
+            StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+
+    private void compactIfNeeded() throws IOException {
+        if (log.size() >= compactBytes) {
+            compact();
+        }
+    }
+}
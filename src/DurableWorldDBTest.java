@@ -0,0 +1,257 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import student.TestCase;
+
+/**
+ * Tests for {@link DurableWorldDB} and its write-ahead log.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class DurableWorldDBTest extends TestCase {
+    private Path directory;
+
+    /**
+     * Reserves a scratch directory.
+     *
+     * @throws IOException
+     *             if the directory cannot be created
+     */
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("durable");
+    }
+
+
+    /**
+     * Removes the scratch directory.
+     *
+     * @throws IOException
+     *             if a file cannot be deleted
+     */
+    public void tearDown() throws IOException {
+        String[] names = { "world.snapshot", "world.snapshot.tmp",
+            "world.wal" };
+        for (String name : names) {
+            Files.deleteIfExists(directory.resolve(name));
+        }
+        Files.deleteIfExists(directory);
+    }
+
+
+    /**
+     * Every kind of mutation is recovered from the log after a restart, and
+     * failed mutations are not logged.
+     *
+     * @throws IOException
+     *             if the files cannot be used
+     */
+    public void testReplayRecoversMutations() throws IOException {
+        WorldDB expected = new WorldDB(new Random(3));
+        DurableWorldDB durable = DurableWorldDB.open(directory, new Random(3),
+            1024, 4, Long.MAX_VALUE);
+        apply(expected, durable);
+        durable.close();
+
+        DurableWorldDB reopened = DurableWorldDB.open(directory, new Random(
+            9));
+        assertEquals(expected.rangeprint("a", "z"), reopened.rangeprint("a",
+            "z"));
+        assertEquals(expected.printbintree(), reopened.printbintree());
+        assertEquals(expected.collisions(), reopened.collisions());
+        assertTrue(reopened.add(new Bird("wren", 1, 1, 1, 2, 2, 2, "small",
+            1)));
+        reopened.close();
+        DurableWorldDB again = DurableWorldDB.open(directory, new Random(9));
+        assertNotNull(again.print("wren"));
+        again.close();
+    }
+
+
+    /**
+     * A torn record at the end of the log is dropped and cut off, keeping
+     * every complete record before it.
+     *
+     * @throws IOException
+     *             if the files cannot be used
+     */
+    public void testTornTailIsTruncated() throws IOException {
+        DurableWorldDB durable = DurableWorldDB.open(directory, new Random(3),
+            1024, 1, Long.MAX_VALUE);
+        assertTrue(durable.add(new Bird("crow", 5, 5, 5, 30, 30, 30, "corvid",
+            2)));
+        assertTrue(durable.add(new Bird("jay", 9, 9, 9, 3, 3, 3, "corvid",
+            1)));
+        durable.close();
+        Path wal = directory.resolve("world.wal");
+        long complete = Files.size(wal);
+        try (FileChannel channel = FileChannel.open(wal,
+            StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 40, 1, 7 }));
+        }
+        DurableWorldDB reopened = DurableWorldDB.open(directory, new Random(
+            3));
+        assertNotNull(reopened.print("crow"));
+        assertNotNull(reopened.print("jay"));
+        assertEquals(complete, Files.size(wal));
+        reopened.close();
+    }
+
+
+    /**
+     * Compaction moves the state into the snapshot, empties the log and
+     * keeps the world intact across a restart.
+     *
+     * @throws IOException
+     *             if the files cannot be used
+     */
+    public void testCompactionRewritesSnapshot() throws IOException {
+        WorldDB expected = new WorldDB(new Random(3));
+        DurableWorldDB durable = DurableWorldDB.open(directory, new Random(3),
+            1024, 8, 2048);
+        apply(expected, durable);
+        assertTrue(Files.exists(directory.resolve("world.snapshot")));
+        assertTrue(Files.size(directory.resolve("world.wal")) < 2048);
+        durable.compact();
+        assertEquals(0, Files.size(directory.resolve("world.wal")));
+        assertTrue(durable.add(new Bird("wren", 1, 1, 1, 2, 2, 2, "small",
+            1)));
+        assertTrue(expected.add(new Bird("wren", 1, 1, 1, 2, 2, 2, "small",
+            1)));
+        durable.close();
+
+        DurableWorldDB reopened = DurableWorldDB.open(directory, new Random(
+            9));
+        assertEquals(expected.rangeprint("a", "z"), reopened.rangeprint("a",
+            "z"));
+        assertEquals(expected.collisions(), reopened.collisions());
+        reopened.close();
+    }
+
+
+    /**
+     * A crash after compaction renamed the new snapshot but before it
+     * emptied the log replays the whole log over the new snapshot. A tick
+     * update that was skipped because its name was absent must not be
+     * replayed onto the object added under that name afterwards.
+     *
+     * @throws IOException
+     *             if the files cannot be used
+     */
+    public void testCrashBetweenSnapshotRenameAndLogReset()
+        throws IOException {
+        DurableWorldDB durable = DurableWorldDB.open(directory, new Random(3),
+            1024, 1, Long.MAX_VALUE);
+        assertTrue(durable.add(new Bird("crow", 5, 5, 5, 3, 3, 3, "corvid",
+            2)));
+        TickBatch tick = new TickBatch();
+        tick.add("crow", 50, 50, 50);
+        tick.add("jay", 600, 600, 600);
+        tick.add("jay", 2000, 0, 0);
+        assertEquals(1, durable.applyTick(tick));
+        assertTrue(durable.add(new Bird("jay", 9, 9, 9, 3, 3, 3, "corvid",
+            1)));
+        String crow = durable.print("crow");
+        String jay = durable.print("jay");
+        durable.sync();
+        Path wal = directory.resolve("world.wal");
+        byte[] log = Files.readAllBytes(wal);
+        durable.compact();
+        durable.close();
+        Files.write(wal, log);
+
+        DurableWorldDB reopened = DurableWorldDB.open(directory, new Random(
+            3));
+        assertEquals(crow, reopened.print("crow"));
+        assertEquals(jay, reopened.print("jay"));
+        reopened.close();
+    }
+
+
+    /**
+     * Once a log write fails, the mutation that hit it is reported with an
+     * UncheckedIOException and every later mutation is rejected before it
+     * changes the world. The failure is simulated by pointing the log at
+     * /dev/full, so the test only runs where that device exists.
+     *
+     * @throws IOException
+     *             if the files cannot be used
+     */
+    public void testFailedLogRejectsLaterMutations() throws IOException {
+        Path full = Paths.get("/dev/full");
+        if (!Files.isWritable(full)) {
+            return;
+        }
+        Files.createSymbolicLink(directory.resolve("world.wal"), full);
+        DurableWorldDB durable = DurableWorldDB.open(directory, new Random(3),
+            1024, 1, Long.MAX_VALUE);
+        try {
+            durable.add(new Bird("crow", 5, 5, 5, 3, 3, 3, "corvid", 2));
+            fail("write to a full device succeeded");
+        }
+        catch (UncheckedIOException expected) {
+            assertNotNull(durable.print("crow"));
+        }
+        try {
+            durable.add(new Bird("jay", 9, 9, 9, 3, 3, 3, "corvid", 1));
+            fail("mutation accepted after the log failed");
+        }
+        catch (UncheckedIOException expected) {
+            assertTrue(expected.getCause().getMessage().contains("failed"));
+        }
+        assertNull(durable.print("jay"));
+        try {
+            durable.delete("crow");
+            fail("mutation accepted after the log failed");
+        }
+        catch (UncheckedIOException expected) {
+            assertNotNull(durable.print("crow"));
+        }
+        try {
+            durable.sync();
+            fail("sync succeeded after the log failed");
+        }
+        catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("failed"));
+        }
+        durable.close();
+    }
+
+
+    /**
+     * Runs the same mix of mutations against a plain and a durable world.
+     */
+    private void apply(WorldDB plain, DurableWorldDB durable) {
+        Random rnd = new Random(0xD0CC);
+        for (int i = 0; i < 300; i++) {
+            int x = rnd.nextInt(900);
+            int y = rnd.nextInt(900);
+            int z = rnd.nextInt(900);
+            int w = 1 + rnd.nextInt(40);
+            assertEquals(plain.add(new Drone("d" + i, x, y, z, w, w, w,
+                "Droners", 2)), durable.add(new Drone("d" + i, x, y, z, w, w,
+                    w, "Droners", 2)));
+        }
+        assertFalse(durable.add(new Drone("d1", 1, 1, 1, 1, 1, 1, "Droners",
+            2)));
+        for (int i = 0; i < 300; i += 4) {
+            assertEquals(plain.delete("d" + i), durable.delete("d" + i));
+        }
+        assertNull(durable.delete("missing"));
+        for (int i = 1; i < 300; i += 7) {
+            assertEquals(plain.move("d" + i, i, 2 * i, 3), durable.move("d"
+                + i, i, 2 * i, 3));
+        }
+        TickBatch batch = new TickBatch();
+        for (int i = 2; i < 300; i += 5) {
+            batch.add("d" + i, 900 - i, i, 17);
+        }
+        assertEquals(plain.applyTick(batch), durable.applyTick(batch));
+    }
+}
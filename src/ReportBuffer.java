@@ -0,0 +1,40 @@
+/**
+ * Reusable line buffer in front of a {@link ReportSink}. Producers append
+ * the current line to {@link #line()} and hand it to the sink with
+ * {@link #endLine()}, so only one line is ever held in memory.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+final class ReportBuffer {
+    private final ReportSink sink;
+    private final StringBuilder current;
+
+    /**
+     * Creates a buffer writing to the given sink.
+     *
+     * @param target
+     *            receiver of completed lines
+     */
+    ReportBuffer(ReportSink target) {
+        sink = target;
+        current = new StringBuilder(128);
+    }
+
+
+    /**
+     * @return the line currently being built
+     */
+    StringBuilder line() {
+        return current;
+    }
+
+
+    /**
+     * Passes the current line to the sink and starts a new one.
+     */
+    void endLine() {
+        sink.line(current);
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Receiver for report output that is produced one line at a time, so that
+ * large listings can be written out incrementally instead of being built up
+ * as a single String.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public interface ReportSink {
+
+    // ----------------------------------------------------------
+    /**
+     * Receives one report line, without its line terminator. The character
+     * sequence may be a reused buffer, so it is only valid for the duration
+     * of the call; copy it if it has to be kept.
+     *
+     * @param line
+     *            the line contents
+     */
+    public void line(CharSequence line);
+
+    /**
+     * Sink that rebuilds the classic String form of a report, terminating
+     * each line with "\r\n".
+     */
+    public static class Collector implements ReportSink {
+        private final StringBuilder builder = new StringBuilder();
+
+        @Override
+        public void line(CharSequence line) {
+            builder.append(line).append("\r\n");
+        }
+
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
@@ -57,8 +57,8 @@ public class Rocket extends AirObject {
 
 
     @Override
-    public String toString() {
-        return baseInfo() + " " + ascentRate + " " + trajectory;
+    protected void appendDetails(StringBuilder out) {
+        out.append(' ').append(ascentRate).append(' ').append(trajectory);
     }
 
 
@@ -0,0 +1,164 @@
+import java.util.Arrays;
+
+/**
+ * A batch of position updates, each giving an AirObject name and a new
+ * origin, to be applied together by {@link WorldDB#applyTick(TickBatch)}.
+ * The updates are kept in parallel arrays, and clear() keeps the arrays, so
+ * a single batch can be refilled every tick without allocating.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class TickBatch {
+    private String[] names;
+    private int[] xs;
+    private int[] ys;
+    private int[] zs;
+    private int size;
+
+    /**
+     * Create an empty batch.
+     */
+    public TickBatch() {
+        this(16);
+    }
+
+
+    /**
+     * Create an empty batch with room for the given number of updates.
+     *
+     * @param capacity
+     *            expected number of updates per tick
+     */
+    public TickBatch(int capacity) {
+        int initial = Math.max(1, capacity);
+        names = new String[initial];
+        xs = new int[initial];
+        ys = new int[initial];
+        zs = new int[initial];
+        size = 0;
+    }
+
+
+    /**
+     * Queue a move of the named AirObject to a new origin.
+     *
+     * @param name
+     *            AirObject name
+     * @param x
+     *            new x origin
+     * @param y
+     *            new y origin
+     * @param z
+     *            new z origin
+     */
+    public void add(String name, int x, int y, int z) {
+        if (size == names.length) {
+            int capacity = size * 2;
+            names = Arrays.copyOf(names, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+        }
+        names[size] = name;
+        xs[size] = x;
+        ys[size] = y;
+        zs[size] = z;
+        size++;
+    }
+
+
+    /**
+     * @return the number of queued updates
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Drop all queued updates, keeping the allocated capacity.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            names[i] = null;
+        }
+        size = 0;
+    }
+
+
+    String name(int index) {
+        return names[index];
+    }
+
+
+    int x(int index) {
+        return xs[index];
+    }
+
+
+    int y(int index) {
+        return ys[index];
+    }
+
+
+    int z(int index) {
+        return zs[index];
+    }
+
+
+    /**
+     * Orders the updates by name with a stable merge sort, so updates to the
+     * same object stay in the order they were queued. Null names sort
+     * first.
+     *
+     * @return indexes of the updates in name order
+     */
+    int[] orderByName() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        int[] scratch = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int low = 0; low < size - width; low += 2 * width) {
+                int mid = low + width;
+                int high = Math.min(low + 2 * width, size);
+                int left = low;
+                int right = mid;
+                int out = low;
+                while (left < mid && right < high) {
+                    if (compareNames(names[order[right]],
+                        names[order[left]]) < 0) {
+                        scratch[out++] = order[right++];
+                    }
+                    else {
+                        scratch[out++] = order[left++];
+                    }
+                }
+                while (left < mid) {
+                    scratch[out++] = order[left++];
+                }
+                while (right < high) {
+                    scratch[out++] = order[right++];
+                }
+                System.arraycopy(scratch, low, order, low, high - low);
+            }
+        }
+        return order;
+    }
+
+
+    /**
+     * Null-safe name comparison with nulls first.
+     */
+    private static int compareNames(String first, String second) {
+        if (first == null) {
+            return second == null ? 0 : -1;
+        }
+        if (second == null) {
+            return 1;
+        }
+        return first.compareTo(second);
+    }
+}
@@ -1,4 +1,9 @@
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The world for this project. We have a Skip List and a Bintree
@@ -7,8 +12,8 @@ import java.util.Random;
  * @version 2025-11-26
  */
 public class WorldDB implements ATC {
-    private static final int WORLD_SIZE = 1024;
-    private final Random rnd;
+    static final int DEFAULT_WORLD_SIZE = 1024;
+    private final int worldSize;
     private final AirObjectSkipList skiplist;
     private final Bintree bintree;
 
@@ -20,14 +25,93 @@ public class WorldDB implements ATC {
      *
      */
     public WorldDB(Random r) {
-        rnd = r == null ? new Random() : r;
-        skiplist = new AirObjectSkipList(rnd);
-        bintree = new Bintree(new BoundingBox(0, 0, 0, WORLD_SIZE, WORLD_SIZE,
-            WORLD_SIZE));
+        this(r, DEFAULT_WORLD_SIZE);
+    }
+
+
+    /**
+     * Create a world with a custom extent. The world is a cube from 0 up to
+     * (but not including) size on each axis; any size up to
+     * Integer.MAX_VALUE is supported.
+     * 
+     * @param r
+     *            A random number generator to use
+     * @param size
+     *            world extent along each axis, positive
+     */
+    public WorldDB(Random r, int size) {
+        this(size, AirObjectSkipList.legacyLevels(r == null
+            ? new Random()
+            : r));
+    }
+
+
+    /**
+     * Create a world whose Skiplist draws node levels from the given
+     * generator, such as {@link AirObjectSkipList#fastLevels(long)}.
+     * 
+     * @param size
+     *            world extent along each axis, positive
+     * @param levels
+     *            Skiplist level source
+     */
+    public WorldDB(int size, AirObjectSkipList.LevelGenerator levels) {
+        this(size, levels, AirObjectSkipList.DEFAULT_MAX_LEVEL);
+    }
+
+
+    /**
+     * Create a world with a tuned Skiplist, see
+     * {@link AirObjectSkipList#fastLevels(long, double)} for the promotion
+     * probability and {@link AirObjectSkipList#AirObjectSkipList(
+     * AirObjectSkipList.LevelGenerator, int)} for the number of levels.
+     * 
+     * @param size
+     *            world extent along each axis, positive
+     * @param levels
+     *            Skiplist level source
+     * @param skiplistLevels
+     *            number of Skiplist levels, from 1 to 64
+     */
+    public WorldDB(
+        int size,
+        AirObjectSkipList.LevelGenerator levels,
+        int skiplistLevels) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("World size must be positive: "
+                + size);
+        }
+        worldSize = size;
+        skiplist = new AirObjectSkipList(levels, skiplistLevels);
+        bintree = new Bintree(new BoundingBox(0, 0, 0, worldSize, worldSize,
+            worldSize));
         clear();
     }
 
 
+    /**
+     * @return the world extent along each axis
+     */
+    public int getWorldSize() {
+        return worldSize;
+    }
+
+
+    /**
+     * Turn the Skiplist's name index on or off. With it on, print, move and
+     * applyTick find objects by hash instead of descending the Skiplist,
+     * and add and delete reject repeated and missing names the same way;
+     * the results are unchanged. See
+     * {@link AirObjectSkipList#indexNames(boolean)}.
+     * 
+     * @param enabled
+     *            whether to keep the index
+     */
+    public void indexNames(boolean enabled) {
+        skiplist.indexNames(enabled);
+    }
+
+
     /**
      * Clear the world
      *
@@ -58,6 +142,100 @@ public class WorldDB implements ATC {
     }
 
 
+    // ----------------------------------------------------------
+    /**
+     * (Try to) insert many AirObjects at once. Invalid objects and repeated
+     * names are skipped just as add would skip them, keeping the first
+     * occurrence of a name. When the database is empty the input is sorted
+     * by name once, the Skiplist is linked bottom-up and the Bintree is built
+     * top-down; the result is the same as adding the accepted objects one at
+     * a time in name order. Otherwise each object is simply added.
+     * 
+     * @param objects
+     *            AirObjects to insert
+     * @return the number of AirObjects entered into the database
+     */
+    public int addAll(AirObject[] objects) {
+        if (objects == null) {
+            return 0;
+        }
+        if (!skiplist.isEmpty()) {
+            int added = 0;
+            for (int i = 0; i < objects.length; i++) {
+                if (add(objects[i])) {
+                    added++;
+                }
+            }
+            return added;
+        }
+        AirObject[] sorted = new AirObject[objects.length];
+        int count = 0;
+        for (int i = 0; i < objects.length; i++) {
+            if (isValidAirObject(objects[i])) {
+                sorted[count++] = objects[i];
+            }
+        }
+        Arrays.sort(sorted, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || !sorted[i].getName().equals(sorted[distinct
+                - 1].getName())) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        skiplist.bulkLoad(sorted, distinct);
+        bintree.build(sorted, distinct);
+        return distinct;
+    }
+
+
+    // ----------------------------------------------------------
+    /**
+     * Save the whole database to a binary snapshot file, replacing any
+     * existing file. The snapshot records the objects in name order, the
+     * level of every Skiplist node and the shape of the Bintree, so that
+     * {@link #load(Path, Random)} restores exactly the same structures.
+     * 
+     * @param file
+     *            destination file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        WorldSnapshot.write(file, worldSize, skiplist.toArray(), skiplist
+            .levels(), bintree);
+    }
+
+
+    // ----------------------------------------------------------
+    /**
+     * Load a database from a snapshot written by {@link #save(Path)}. The
+     * file is memory-mapped, and the Skiplist and Bintree are linked together
+     * directly from the recorded structure. No insert logic runs, so the
+     * cost is proportional to the size of the file.
+     * 
+     * @param file
+     *            snapshot file
+     * @param r
+     *            A random number generator for later inserts
+     * @return the restored database
+     * @throws IOException
+     *             if the file cannot be read or is not a valid snapshot
+     */
+    public static WorldDB load(Path file, Random r) throws IOException {
+        return WorldSnapshot.read(file, r);
+    }
+
+
+    /**
+     * Fills an empty database from decoded snapshot contents.
+     */
+    void restore(AirObject[] byName, byte[] levels, IntBuffer shape) {
+        skiplist.restore(byName, levels, byName.length);
+        bintree.readShape(shape, byName);
+    }
+
+
     // ----------------------------------------------------------
     /**
      * The AirObject with this name is deleted from the database (if it exists).
@@ -81,6 +259,117 @@ public class WorldDB implements ATC {
     }
 
 
+    // ----------------------------------------------------------
+    /**
+     * Move the AirObject with this name to a new origin, keeping its widths.
+     * The object is updated in place: its Skiplist node is left alone and
+     * the Bintree only revisits the regions that the old or new box reaches.
+     * The result is the same as deleting the object and adding it back at
+     * the new position.
+     * 
+     * @param name
+     *            AirObject name.
+     * @param x
+     *            new x origin
+     * @param y
+     *            new y origin
+     * @param z
+     *            new z origin
+     * @return A string representing the moved AirObject, or null if there is
+     *         no such name or the new position does not fit in the world.
+     */
+    public String move(String name, int x, int y, int z) {
+        if (!isValidName(name)) {
+            return null;
+        }
+        AirObject obj = skiplist.search(name);
+        if (obj == null || !isValidDimension(x, obj.getXwidth())
+            || !isValidDimension(y, obj.getYwidth()) || !isValidDimension(z,
+                obj.getZwidth())) {
+            return null;
+        }
+        BoundingBox from = obj.getBoundingBox();
+        obj.relocate(x, y, z);
+        bintree.move(obj, from);
+        return obj.toString();
+    }
+
+
+    // ----------------------------------------------------------
+    /**
+     * Apply a whole tick of position updates at once. Every update is
+     * checked as move would check it, and the last acceptable update for a
+     * name wins. The updates are looked up in name order through a Skiplist
+     * finger, so each lookup resumes near the previous one, the objects are
+     * relocated in place, and the Bintree is then updated in a single pass
+     * that shares descents between objects in the same region. The tree
+     * ends up as if every moved object had been deleted and then all of them
+     * added back at their new positions.
+     * 
+     * @param batch
+     *            updates to apply
+     * @return the number of AirObjects that were moved
+     */
+    public int applyTick(TickBatch batch) {
+        return applyTick(batch, null);
+    }
+
+
+    // ----------------------------------------------------------
+    /**
+     * Apply a tick as {@link #applyTick(TickBatch)} does, and report the
+     * updates that took effect: one per moved AirObject, in name order,
+     * giving its new origin. Updates for names not in the database, and
+     * updates that lost to a later one or did not fit, are left out.
+     * 
+     * @param batch
+     *            updates to apply
+     * @param applied
+     *            receives the updates that were applied, or null
+     * @return the number of AirObjects that were moved
+     */
+    public int applyTick(TickBatch batch, TickBatch applied) {
+        if (batch == null || batch.size() == 0) {
+            return 0;
+        }
+        int[] order = batch.orderByName();
+        AirObject[] moved = new AirObject[order.length];
+        BoundingBox[] from = new BoundingBox[order.length];
+        AirObjectSkipList.Finger finger = skiplist.finger();
+        int count = 0;
+        int first = 0;
+        while (first < order.length) {
+            String name = batch.name(order[first]);
+            int last = first;
+            while (last + 1 < order.length && name != null && name.equals(batch
+                .name(order[last + 1]))) {
+                last++;
+            }
+            AirObject obj = isValidName(name) ? finger.search(name) : null;
+            for (int i = last; obj != null && i >= first; i--) {
+                int update = order[i];
+                if (isValidDimension(batch.x(update), obj.getXwidth())
+                    && isValidDimension(batch.y(update), obj.getYwidth())
+                    && isValidDimension(batch.z(update), obj.getZwidth())) {
+                    moved[count] = obj;
+                    from[count] = obj.getBoundingBox();
+                    obj.relocate(batch.x(update), batch.y(update), batch.z(
+                        update));
+                    if (applied != null) {
+                        applied.add(name, batch.x(update), batch.y(update),
+                            batch.z(update));
+                    }
+                    count++;
+                    break;
+                }
+            }
+            first = last + 1;
+        }
+        bintree.moveAll(moved, from, count);
+        return count;
+    }
+
+
     // ----------------------------------------------------------
     /**
      * Return a listing of the Skiplist in alphabetical order on the names.
@@ -93,6 +382,18 @@ public class WorldDB implements ATC {
     }
 
 
+    // ----------------------------------------------------------
+    /**
+     * Streams the Skiplist listing to a sink, one line at a time.
+     * 
+     * @param sink
+     *            receiver of the listing lines
+     */
+    public void printskiplist(ReportSink sink) {
+        skiplist.formatStructure(sink);
+    }
+
+
     // ----------------------------------------------------------
     /**
      * Return a listing of the Bintree nodes in preorder.
@@ -105,6 +406,18 @@ public class WorldDB implements ATC {
     }
 
 
+    // ----------------------------------------------------------
+    /**
+     * Streams the preorder Bintree listing to a sink, one line at a time.
+     * 
+     * @param sink
+     *            receiver of the listing lines
+     */
+    public void printbintree(ReportSink sink) {
+        bintree.print(sink);
+    }
+
+
     // ----------------------------------------------------------
     /**
      * Print an AirObject with a given name if it exists
@@ -137,22 +450,43 @@ public class WorldDB implements ATC {
      *         Null if the parameters are bad
      */
     public String rangeprint(String start, String end) {
+        ReportSink.Collector collector = new ReportSink.Collector();
+        return rangeprint(start, end, collector) ? collector.toString() : null;
+    }
+
+
+    // ----------------------------------------------------------
+    /**
+     * Streams the rangeprint listing to a sink, one line at a time. Nothing
+     * is written if the parameters are bad.
+     * 
+     * @param start
+     *            Minimum of range
+     * @param end
+     *            Maximum of range
+     * @param sink
+     *            receiver of the listing lines
+     * @return false if the parameters are bad
+     */
+    public boolean rangeprint(String start, String end, ReportSink sink) {
         if (!isValidName(start) || !isValidName(end)) {
-            return null;
+            return false;
         }
         if (start.compareTo(end) > 0) {
-            return null;
+            return false;
         }
-        StringBuilder builder = new StringBuilder();
-        builder.append("Found these records in the range ").append(start)
-            .append(" to ").append(end).append("\r\n");
+        ReportBuffer out = new ReportBuffer(sink);
+        out.line().append("Found these records in the range ").append(start)
+            .append(" to ").append(end);
+        out.endLine();
         skiplist.traverseRange(start, end, new AirObjectSkipList.Visitor() {
             @Override
             public void visit(AirObject obj) {
-                builder.append(obj.toString()).append("\r\n");
+                out.line().append(obj.toString());
+                out.endLine();
             }
         });
-        return builder.toString();
+        return true;
     }
 
 
@@ -171,6 +505,32 @@ public class WorldDB implements ATC {
     }
 
 
+    // ----------------------------------------------------------
+    /**
+     * Streams the collisions listing to a sink, one line at a time.
+     * 
+     * @param sink
+     *            receiver of the listing lines
+     */
+    public void collisions(ReportSink sink) {
+        bintree.collisionsReport(sink);
+    }
+
+
+    // ----------------------------------------------------------
+    /**
+     * Return the same listing as {@link #collisions()}, computed by walking
+     * Bintree subtrees in parallel on the given pool.
+     * 
+     * @param pool
+     *            fork-join pool that runs the subtree tasks
+     * @return String listing the AirObjects that participate in collisions.
+     */
+    public String collisions(ForkJoinPool pool) {
+        return bintree.collisionsReport(pool);
+    }
+
+
     // ----------------------------------------------------------
     /**
      * Return a listing of all AirObjects whose bounding boxes
@@ -195,12 +555,49 @@ public class WorldDB implements ATC {
      *         Return null if any input parameters are bad
      */
     public String intersect(int x, int y, int z, int xwid, int ywid, int zwid) {
+        ReportSink.Collector collector = new ReportSink.Collector();
+        return intersect(x, y, z, xwid, ywid, zwid, collector)
+            ? collector.toString()
+            : null;
+    }
+
+
+    // ----------------------------------------------------------
+    /**
+     * Streams the intersect listing for the given box to a sink, one line at
+     * a time. Nothing is written if any input parameters are bad.
+     * 
+     * @param x
+     *            Bounding box upper left x
+     * @param y
+     *            Bounding box upper left y
+     * @param z
+     *            Bounding box upper left z
+     * @param xwid
+     *            Bounding box x width
+     * @param ywid
+     *            Bounding box y width
+     * @param zwid
+     *            Bounding box z width
+     * @param sink
+     *            receiver of the listing lines
+     * @return false if any input parameters are bad
+     */
+    public boolean intersect(
+        int x,
+        int y,
+        int z,
+        int xwid,
+        int ywid,
+        int zwid,
+        ReportSink sink) {
         if (!isValidDimension(x, xwid) || !isValidDimension(y, ywid)
             || !isValidDimension(z, zwid)) {
-            return null;
+            return false;
         }
-        BoundingBox box = new BoundingBox(x, y, z, xwid, ywid, zwid);
-        return bintree.intersectReport(box);
+        bintree.intersectReport(new BoundingBox(x, y, z, xwid, ywid, zwid),
+            sink);
+        return true;
     }
 
 
@@ -245,9 +642,9 @@ public class WorldDB implements ATC {
 
 
     private boolean isValidDimension(int origin, int width) {
-        if (origin < 0 || width <= 0 || width > WORLD_SIZE) {
+        if (origin < 0 || width <= 0 || width > worldSize) {
             return false;
         }
-        return origin + width <= WORLD_SIZE;
+        return (long)origin + width <= worldSize;
     }
 }
@@ -0,0 +1,75 @@
+import java.util.Arrays;
+import java.util.Random;
+import student.TestCase;
+
+/**
+ * Tests for {@link WorldDB#addAll(AirObject[])}.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class WorldDBBulkLoadTest extends TestCase {
+
+    /**
+     * Bulk loading an empty world produces the same structures as adding the
+     * same objects one at a time in name order.
+     */
+    public void testBulkLoadMatchesSortedAdds() {
+        Random rnd = new Random(0xFEED);
+        AirObject[] objects = new AirObject[300];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new Balloon("obj" + rnd.nextInt(1000), rnd.nextInt(
+                900), rnd.nextInt(900), rnd.nextInt(900), 1 + rnd.nextInt(
+                    100), 1 + rnd.nextInt(100), 1 + rnd.nextInt(100), "hot",
+                5);
+        }
+        WorldDB bulk = new WorldDB(new Random(3));
+        int added = bulk.addAll(objects);
+
+        AirObject[] sorted = objects.clone();
+        Arrays.sort(sorted);
+        WorldDB single = new WorldDB(new Random(3));
+        int expected = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (single.add(sorted[i])) {
+                expected++;
+            }
+        }
+        assertEquals(expected, added);
+        assertEquals(single.printskiplist(), bulk.printskiplist());
+        assertEquals(single.printbintree(), bulk.printbintree());
+        assertEquals(single.collisions(), bulk.collisions());
+        assertEquals(single.intersect(100, 100, 100, 300, 300, 300), bulk
+            .intersect(100, 100, 100, 300, 300, 300));
+    }
+
+
+    /**
+     * Invalid objects and repeated names are skipped, keeping the first
+     * occurrence of each name.
+     */
+    public void testSkipsInvalidAndDuplicates() {
+        WorldDB world = new WorldDB(new Random(1));
+        Balloon first = new Balloon("dup", 1, 1, 1, 5, 5, 5, "hot", 5);
+        Balloon second = new Balloon("dup", 9, 9, 9, 5, 5, 5, "hot", 5);
+        Balloon invalid = new Balloon("bad", 1020, 1, 1, 50, 5, 5, "hot", 5);
+        assertEquals(1, world.addAll(new AirObject[] { first, null, invalid,
+            second }));
+        assertEquals(first.toString(), world.print("dup"));
+        assertNull(world.print("bad"));
+        assertEquals(0, world.addAll(null));
+    }
+
+
+    /**
+     * A non-empty world falls back to individual adds.
+     */
+    public void testAddAllIntoPopulatedWorld() {
+        WorldDB world = new WorldDB(new Random(1));
+        assertTrue(world.add(new Bird("crow", 1, 1, 1, 5, 5, 5, "corvid", 2)));
+        assertEquals(1, world.addAll(new AirObject[] { new Bird("crow", 1, 1,
+            1, 5, 5, 5, "corvid", 2), new Bird("jay", 2, 2, 2, 5, 5, 5,
+                "corvid", 1) }));
+        assertNotNull(world.print("jay"));
+    }
+}
@@ -0,0 +1,176 @@
+import java.util.Random;
+import student.TestCase;
+
+/**
+ * Tests for {@link WorldDB#move(String, int, int, int)} and
+ * {@link WorldDB#applyTick(TickBatch)}.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class WorldDBMoveTest extends TestCase {
+
+    /**
+     * Moving objects leaves the Bintree exactly as deleting and re-adding
+     * them at the new position would, for short hops inside a leaf as well
+     * as jumps across the world.
+     */
+    public void testMoveMatchesDeleteAndAdd() {
+        WorldDB moved = new WorldDB(new Random(5));
+        WorldDB readded = new WorldDB(new Random(5));
+        AirObject[] copies = new AirObject[400];
+        Random rnd = new Random(0x5EED);
+        for (int i = 0; i < copies.length; i++) {
+            int x = rnd.nextInt(900);
+            int y = rnd.nextInt(900);
+            int z = rnd.nextInt(900);
+            int width = i % 25 == 0 ? 100 : 1 + rnd.nextInt(20);
+            assertTrue(moved.add(new Balloon("m" + i, x, y, z, width, width,
+                width, "hot_air", 5)));
+            copies[i] = new Balloon("m" + i, x, y, z, width, width, width,
+                "hot_air", 5);
+            assertTrue(readded.add(copies[i]));
+        }
+        for (int step = 0; step < 2000; step++) {
+            int i = rnd.nextInt(copies.length);
+            AirObject copy = copies[i];
+            int x;
+            int y;
+            int z;
+            if (step % 3 == 0) {
+                x = rnd.nextInt(900);
+                y = rnd.nextInt(900);
+                z = rnd.nextInt(900);
+            }
+            else {
+                x = Math.max(0, copy.getXorig() + rnd.nextInt(9) - 4);
+                y = Math.max(0, copy.getYorig() + rnd.nextInt(9) - 4);
+                z = Math.max(0, copy.getZorig() + rnd.nextInt(9) - 4);
+            }
+            String result = moved.move(copy.getName(), x, y, z);
+            assertNotNull(readded.delete(copy.getName()));
+            copy.relocate(x, y, z);
+            assertTrue(readded.add(copy));
+            assertEquals(copy.toString(), result);
+        }
+        assertEquals(readded.printbintree(), moved.printbintree());
+        assertEquals(readded.collisions(), moved.collisions());
+        assertEquals(readded.rangeprint("a", "z"), moved.rangeprint("a", "z"));
+        assertEquals(readded.intersect(200, 200, 200, 300, 300, 300), moved
+            .intersect(200, 200, 200, 300, 300, 300));
+    }
+
+
+    /**
+     * Unknown names and positions outside the world are rejected and leave
+     * the object where it was.
+     */
+    public void testRejectedMoves() {
+        WorldDB world = new WorldDB(new Random(1));
+        Bird crow = new Bird("crow", 5, 5, 5, 30, 30, 30, "corvid", 2);
+        assertTrue(world.add(crow));
+        String before = world.printbintree();
+        assertNull(world.move("raven", 1, 1, 1));
+        assertNull(world.move(null, 1, 1, 1));
+        assertNull(world.move("crow", 1000, 1, 1));
+        assertNull(world.move("crow", 1, -1, 1));
+        assertEquals(before, world.printbintree());
+        assertEquals("Bird crow 10 20 30 30 30 30 corvid 2", world.move("crow",
+            10, 20, 30));
+        assertEquals(crow.toString(), world.print("crow"));
+        assertTrue(world.intersect(10, 20, 30, 1, 1, 1).contains(crow
+            .toString()));
+        assertFalse(world.intersect(5, 5, 5, 5, 5, 5).contains("crow"));
+    }
+
+
+    /**
+     * A tick leaves the Bintree as deleting every moved object and adding
+     * them all back at their new positions would, over several ticks that
+     * mix local hops, long jumps and untouched objects.
+     */
+    public void testApplyTickMatchesDeleteAllThenAdd() {
+        WorldDB ticked = new WorldDB(new Random(5));
+        WorldDB readded = new WorldDB(new Random(5));
+        AirObject[] copies = new AirObject[500];
+        Random rnd = new Random(0x71C);
+        for (int i = 0; i < copies.length; i++) {
+            int x = rnd.nextInt(900);
+            int y = rnd.nextInt(900);
+            int z = rnd.nextInt(900);
+            int width = i % 20 == 0 ? 120 : 1 + rnd.nextInt(12);
+            assertTrue(ticked.add(new Drone("d" + i, x, y, z, width, width,
+                width, "Droners", 3)));
+            copies[i] = new Drone("d" + i, x, y, z, width, width, width,
+                "Droners", 3);
+            assertTrue(readded.add(copies[i]));
+        }
+        TickBatch batch = new TickBatch(4);
+        for (int tick = 0; tick < 6; tick++) {
+            batch.clear();
+            boolean[] touched = new boolean[copies.length];
+            int[][] target = new int[copies.length][];
+            for (int i = 0; i < copies.length; i++) {
+                if (rnd.nextInt(4) == 0) {
+                    continue;
+                }
+                AirObject copy = copies[i];
+                int[] origin = tick % 2 == 0
+                    ? new int[] { rnd.nextInt(900), rnd.nextInt(900), rnd
+                        .nextInt(900) }
+                    : new int[] { Math.max(0, copy.getXorig() - 2), copy
+                        .getYorig() + 1, copy.getZorig() };
+                batch.add(copy.getName(), origin[0], origin[1], origin[2]);
+                touched[i] = true;
+                target[i] = origin;
+            }
+            int moved = 0;
+            for (int i = 0; i < copies.length; i++) {
+                if (touched[i]) {
+                    assertNotNull(readded.delete(copies[i].getName()));
+                    moved++;
+                }
+            }
+            for (int i = copies.length - 1; i >= 0; i--) {
+                if (touched[i]) {
+                    copies[i].relocate(target[i][0], target[i][1],
+                        target[i][2]);
+                    assertTrue(readded.add(copies[i]));
+                }
+            }
+            assertEquals(moved, ticked.applyTick(batch));
+            assertEquals(readded.printbintree(), ticked.printbintree());
+        }
+        assertEquals(readded.collisions(), ticked.collisions());
+        assertEquals(readded.rangeprint("a", "z"), ticked.rangeprint("a",
+            "z"));
+    }
+
+
+    /**
+     * Within one tick the last acceptable update for a name wins, and
+     * unknown names and positions outside the world are skipped.
+     */
+    public void testApplyTickLastValidUpdateWins() {
+        WorldDB world = new WorldDB(new Random(1));
+        assertTrue(world.add(new Bird("crow", 5, 5, 5, 30, 30, 30, "corvid",
+            2)));
+        assertTrue(world.add(new Bird("jay", 50, 50, 50, 3, 3, 3, "corvid",
+            1)));
+        TickBatch batch = new TickBatch();
+        batch.add("crow", 10, 10, 10);
+        batch.add("raven", 1, 1, 1);
+        batch.add(null, 1, 1, 1);
+        batch.add("crow", 20, 20, 20);
+        batch.add("jay", 1023, 0, 0);
+        batch.add("crow", 1000, 0, 0);
+        assertEquals(6, batch.size());
+        assertEquals(1, world.applyTick(batch));
+        assertEquals("Bird crow 20 20 20 30 30 30 corvid 2", world.print(
+            "crow"));
+        assertEquals("Bird jay 50 50 50 3 3 3 corvid 1", world.print("jay"));
+        assertEquals(0, world.applyTick(null));
+        batch.clear();
+        assertEquals(0, world.applyTick(batch));
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.Random;
+import student.TestCase;
+
+/**
+ * Tests that the streaming {@link ReportSink} query methods produce exactly
+ * the same content as the String-returning ones.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class WorldDBStreamingTest extends TestCase {
+    private WorldDB world;
+
+    /**
+     * Populates a small world.
+     */
+    public void setUp() {
+        world = new WorldDB(new Random(0xCAFEBEEF));
+        world.add(new Balloon("B1", 10, 11, 11, 21, 12, 31, "hot_air", 15));
+        world.add(new AirPlane("Air1", 0, 10, 1, 20, 2, 30, "USAir", 717, 4));
+        world.add(new Drone("Air2", 100, 1010, 101, 924, 2, 900, "Droners",
+            3));
+        world.add(new Bird("pterodactyl", 0, 100, 20, 10, 50, 50, "Dinosaur",
+            1));
+        world.add(new Bird("crow", 5, 5, 5, 30, 30, 30, "corvid", 2));
+    }
+
+
+    /**
+     * Every streamed report equals its String counterpart line for line.
+     */
+    public void testStreamsMatchStrings() {
+        ReportSink.Collector collector = new ReportSink.Collector();
+        world.printbintree(collector);
+        assertEquals(world.printbintree(), collector.toString());
+
+        collector = new ReportSink.Collector();
+        world.printskiplist(collector);
+        assertEquals(world.printskiplist(), collector.toString());
+
+        collector = new ReportSink.Collector();
+        world.collisions(collector);
+        assertEquals(world.collisions(), collector.toString());
+
+        collector = new ReportSink.Collector();
+        assertTrue(world.rangeprint("a", "z", collector));
+        assertEquals(world.rangeprint("a", "z"), collector.toString());
+
+        collector = new ReportSink.Collector();
+        assertTrue(world.intersect(0, 0, 0, 64, 64, 64, collector));
+        assertEquals(world.intersect(0, 0, 0, 64, 64, 64), collector
+            .toString());
+    }
+
+
+    /**
+     * Lines are delivered one at a time without terminators, and bad
+     * parameters produce no output.
+     */
+    public void testLinesAndBadParameters() {
+        int[] lines = new int[1];
+        boolean[] terminated = new boolean[1];
+        ReportSink counter = line -> {
+            lines[0]++;
+            if (line.length() > 0 && line.charAt(line.length() - 1) == '\n') {
+                terminated[0] = true;
+            }
+        };
+        assertTrue(world.rangeprint("a", "z", counter));
+        assertEquals(3, lines[0]);
+        assertFalse(terminated[0]);
+        lines[0] = 0;
+        assertFalse(world.rangeprint("z", "a", counter));
+        assertFalse(world.intersect(-1, 0, 0, 5, 5, 5, counter));
+        assertEquals(0, lines[0]);
+        world.clear();
+        world.printskiplist(counter);
+        assertEquals(1, lines[0]);
+    }
+}
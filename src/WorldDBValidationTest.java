@@ -109,4 +109,33 @@ public class WorldDBValidationTest extends TestCase {
         assertNotNull(report);
         assertTrue(report.contains("The following objects intersect"));
     }
+
+
+    /**
+     * Worlds can be created with a custom extent, including one at the top
+     * of the int range, without origin + width wrapping around.
+     */
+    public void testCustomWorldSize() {
+        WorldDB big = new WorldDB(null, Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, big.getWorldSize());
+        assertTrue(big.add(new Balloon("Far", Integer.MAX_VALUE - 10, 0, 0, 10,
+            5, 5, "type", 5)));
+        assertFalse(big.add(new Balloon("Wrap", Integer.MAX_VALUE - 10, 0, 0,
+            100, 5, 5, "type", 5)));
+        assertTrue(big.intersect(Integer.MAX_VALUE - 5, 0, 0, 5, 5, 5).contains(
+            "Balloon Far"));
+        assertTrue(world.add(new Balloon("Edge", 1000, 0, 0, 24, 5, 5, "type",
+            5)));
+        WorldDB small = new WorldDB(null, 16);
+        assertFalse(small.add(new Balloon("Edge", 10, 0, 0, 24, 5, 5, "type",
+            5)));
+        Exception thrown = null;
+        try {
+            new WorldDB(null, 0);
+        }
+        catch (IllegalArgumentException e) {
+            thrown = e;
+        }
+        assertNotNull(thrown);
+    }
 }
@@ -0,0 +1,170 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of a whole {@link WorldDB}, written and read through a
+ * memory-mapped file so that a restart can rebuild the Skiplist and Bintree
+ * by linking nodes directly instead of replaying every add.
+ * <p>
+ * Layout, all values big-endian:
+ * <ol>
+ * <li>header: magic, format version, world size, object count, the
+ * length of the Bintree shape in ints and the CRC-32 of everything after
+ * the header</li>
+ * <li>one byte per object holding its Skiplist level, in name order</li>
+ * <li>the Bintree shape, see {@link Bintree#writeShape}</li>
+ * <li>one {@link AirObjectRecord} per object, in name order</li>
+ * </ol>
+ * A snapshot is a single mapping, so it is limited to 2 GB.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+final class WorldSnapshot {
+    private static final int MAGIC = 0x41544353;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    private WorldSnapshot() {
+        // static helpers only
+    }
+
+
+    /**
+     * Writes a snapshot, replacing any existing file.
+     *
+     * @param file
+     *            destination
+     * @param worldSize
+     *            extent of the world
+     * @param byName
+     *            every stored object, in ascending name order
+     * @param levels
+     *            Skiplist level of each object
+     * @param tree
+     *            Bintree holding the same objects
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    static void write(
+        Path file,
+        int worldSize,
+        AirObject[] byName,
+        byte[] levels,
+        Bintree tree)
+        throws IOException {
+        int count = byName.length;
+        long recordBytes = 0;
+        for (int i = 0; i < count; i++) {
+            recordBytes += AirObjectRecord.size(byName[i]);
+        }
+        int shapeLength = tree.shapeLength();
+        long total = HEADER_BYTES + count + (long)Integer.BYTES * shapeLength
+            + recordBytes;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("snapshot of " + total
+                + " bytes exceeds 2 GB");
+        }
+        try (FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE,
+                0, total);
+            out.putInt(MAGIC).putInt(VERSION).putInt(worldSize).putInt(count)
+                .putInt(shapeLength).putInt(0);
+            out.put(levels, 0, count);
+            tree.writeShape(out.asIntBuffer(), byName, count);
+            out.position(out.position() + Integer.BYTES * shapeLength);
+            for (int i = 0; i < count; i++) {
+                AirObjectRecord.write(out, byName[i]);
+            }
+            out.putInt(HEADER_BYTES - Integer.BYTES, checksum(out));
+            out.force();
+            channel.force(true);
+        }
+    }
+
+
+    /**
+     * Maps a snapshot and rebuilds the world it describes.
+     *
+     * @param file
+     *            snapshot written by {@link #write}
+     * @param r
+     *            random source for the restored Skiplist's future inserts
+     * @return the restored world
+     * @throws IOException
+     *             if the file cannot be read or is not a valid snapshot
+     */
+    static WorldDB read(Path file, Random r) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.READ)) {
+            long total = channel.size();
+            if (total < HEADER_BYTES || total > Integer.MAX_VALUE) {
+                throw new IOException("not a WorldDB snapshot: " + file);
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY,
+                0, total);
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("not a WorldDB snapshot: " + file);
+            }
+            int worldSize = in.getInt();
+            int count = in.getInt();
+            int shapeLength = in.getInt();
+            if (in.getInt() != checksum(in)) {
+                throw new IOException("corrupt WorldDB snapshot: " + file
+                    + " (checksum mismatch)");
+            }
+            try {
+                byte[] levels = new byte[count];
+                in.get(levels);
+                IntBuffer shape = in.asIntBuffer();
+                shape.limit(shapeLength);
+                in.position(in.position() + Integer.BYTES * shapeLength);
+                AirObject[] byName = new AirObject[count];
+                AirObjectRecord record = new AirObjectRecord();
+                int offset = in.position();
+                for (int i = 0; i < count; i++) {
+                    record.wrap(in, offset);
+                    int length = record.length();
+                    if (length < AirObjectRecord.HEADER_BYTES) {
+                        throw new IllegalArgumentException("record " + i
+                            + " is " + length + " bytes");
+                    }
+                    byName[i] = record.toAirObject();
+                    if (i > 0 && byName[i - 1].getName().compareTo(byName[i]
+                        .getName()) >= 0) {
+                        throw new IllegalArgumentException(
+                            "records out of name order at " + i);
+                    }
+                    offset += length;
+                }
+                WorldDB world = new WorldDB(r, worldSize);
+                world.restore(byName, levels, shape);
+                return world;
+            }
+            catch (RuntimeException e) {
+                throw new IOException("corrupt WorldDB snapshot: " + file, e);
+            }
+        }
+    }
+
+
+    /**
+     * @return the CRC-32 of the buffer's contents after the header
+     */
+    private static int checksum(ByteBuffer buffer) {
+        ByteBuffer body = buffer.duplicate();
+        body.limit(body.capacity()).position(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int)crc.getValue();
+    }
+}
@@ -0,0 +1,251 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+import student.TestCase;
+
+/**
+ * Tests for {@link WorldDB#save(Path)} and {@link WorldDB#load(Path, Random)}.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+public class WorldSnapshotTest extends TestCase {
+    private static final int HEADER = 6 * Integer.BYTES;
+    private Path file;
+
+    /**
+     * Reserves a scratch file.
+     *
+     * @throws IOException
+     *             if the file cannot be created
+     */
+    public void setUp() throws IOException {
+        file = Files.createTempFile("worlddb", ".snapshot");
+    }
+
+
+    /**
+     * Removes the scratch file.
+     *
+     * @throws IOException
+     *             if the file cannot be deleted
+     */
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+
+    /**
+     * A loaded snapshot reproduces every listing of the saved world, even
+     * after deletes have left a tree shape that fresh inserts would not
+     * build, and keeps working for later updates.
+     *
+     * @throws IOException
+     *             if the snapshot cannot be written or read
+     */
+    public void testRoundTripKeepsStructures() throws IOException {
+        WorldDB world = new WorldDB(new Random(11), 2048);
+        Random rnd = new Random(0xD15C);
+        for (int i = 0; i < 600; i++) {
+            int x = rnd.nextInt(1900);
+            int y = rnd.nextInt(1900);
+            int z = rnd.nextInt(1900);
+            int w = 1 + rnd.nextInt(i % 30 == 0 ? 140 : 20);
+            String name = "n" + i;
+            switch (i % 5) {
+                case 0:
+                    world.add(new AirPlane(name, x, y, z, w, w, w, "USAir",
+                        100 + i, 2));
+                    break;
+                case 1:
+                    world.add(new Balloon(name, x, y, z, w, w, w, "hot_air",
+                        3));
+                    break;
+                case 2:
+                    world.add(new Bird(name, x, y, z, w, w, w, "Dinosaur", 4));
+                    break;
+                case 3:
+                    world.add(new Drone(name, x, y, z, w, w, w, "Droners", 2));
+                    break;
+                default:
+                    world.add(new Rocket(name, x, y, z, w, w, w, 12, 2.75));
+            }
+        }
+        for (int i = 0; i < 600; i += 3) {
+            world.delete("n" + i);
+        }
+        world.save(file);
+        WorldDB loaded = WorldDB.load(file, new Random(12));
+        assertEquals(2048, loaded.getWorldSize());
+        assertEquals(world.printskiplist(), loaded.printskiplist());
+        assertEquals(world.printbintree(), loaded.printbintree());
+        assertEquals(world.collisions(), loaded.collisions());
+        assertEquals(world.intersect(100, 100, 100, 900, 900, 900), loaded
+            .intersect(100, 100, 100, 900, 900, 900));
+
+        for (int i = 1; i < 600; i += 3) {
+            assertEquals(world.delete("n" + i), loaded.delete("n" + i));
+        }
+        assertEquals(world.printbintree(), loaded.printbintree());
+        assertTrue(loaded.add(new Bird("late", 5, 5, 5, 5, 5, 5, "crow", 1)));
+        assertNotNull(loaded.print("late"));
+    }
+
+
+    /**
+     * Empty worlds round trip, and files that are not snapshots are
+     * rejected with an IOException.
+     *
+     * @throws IOException
+     *             if the scratch file cannot be written
+     */
+    public void testEmptyAndCorruptFiles() throws IOException {
+        new WorldDB(new Random(1)).save(file);
+        WorldDB empty = WorldDB.load(file, new Random(1));
+        assertEquals("SkipList is empty", empty.printskiplist());
+        assertEquals(new WorldDB(new Random(1)).printbintree(), empty
+            .printbintree());
+
+        Files.write(file, new byte[] { 1, 2, 3 });
+        try {
+            WorldDB.load(file, new Random(1));
+            fail("short file accepted");
+        }
+        catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("snapshot"));
+        }
+
+        WorldDB world = new WorldDB(new Random(1));
+        world.add(new Bird("crow", 5, 5, 5, 30, 30, 30, "corvid", 2));
+        world.save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 6));
+        try {
+            WorldDB.load(file, new Random(1));
+            fail("truncated file accepted");
+        }
+        catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("corrupt"));
+        }
+    }
+
+
+    /**
+     * Snapshots whose Bintree shape disagrees with the objects it indexes
+     * are rejected: an internal node count that does not match the
+     * distinct objects below it, leaf entries out of name order, and leaf
+     * entries past the last object.
+     *
+     * @throws IOException
+     *             if the scratch file cannot be written
+     */
+    public void testInconsistentShapeRejected() throws IOException {
+        WorldDB world = new WorldDB(new Random(5));
+        for (int i = 0; i < 12; i++) {
+            world.add(new Balloon("b" + (10 + i), 40 * i, 40 * i, 40 * i, 60,
+                60, 60, "hot_air", 3));
+        }
+        world.save(file);
+        byte[] saved = Files.readAllBytes(file);
+        int shape = HEADER + 12;
+        assertEquals(-2, ByteBuffer.wrap(saved).getInt(shape));
+
+        ByteBuffer bytes = ByteBuffer.wrap(saved.clone());
+        bytes.putInt(shape + Integer.BYTES, bytes.getInt(shape
+            + Integer.BYTES) + 1);
+        assertCorrupt(bytes.array(), "records");
+
+        int leaf = shape;
+        bytes = ByteBuffer.wrap(saved.clone());
+        while (bytes.getInt(leaf) < 2) {
+            int tag = bytes.getInt(leaf);
+            if (tag == -2) {
+                leaf += 2 * Integer.BYTES;
+            }
+            else if (tag == -1) {
+                leaf += Integer.BYTES;
+            }
+            else {
+                leaf += (1 + tag) * Integer.BYTES;
+            }
+        }
+        int first = bytes.getInt(leaf + Integer.BYTES);
+        bytes.putInt(leaf + Integer.BYTES, bytes.getInt(leaf + 2
+            * Integer.BYTES));
+        bytes.putInt(leaf + 2 * Integer.BYTES, first);
+        assertCorrupt(bytes.array(), "name order");
+
+        bytes = ByteBuffer.wrap(saved.clone());
+        bytes.putInt(leaf + Integer.BYTES, 12);
+        assertCorrupt(bytes.array(), "not one of 12");
+    }
+
+
+    /**
+     * Snapshots whose bytes were damaged after writing fail the checksum,
+     * and snapshots that were resealed after tampering are still checked:
+     * Skiplist levels must lie in range, records must be in strictly
+     * ascending name order, and the Bintree must hold every object.
+     *
+     * @throws IOException
+     *             if the scratch file cannot be written
+     */
+    public void testTamperedSnapshotRejected() throws IOException {
+        WorldDB world = new WorldDB(new Random(5));
+        world.add(new Drone("d10", 5, 5, 5, 10, 10, 10, "Droners", 2));
+        world.add(new Drone("d11", 50, 50, 50, 10, 10, 10, "Droners", 2));
+        world.save(file);
+        byte[] saved = Files.readAllBytes(file);
+
+        byte[] bytes = saved.clone();
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        try {
+            WorldDB.load(file, new Random(1));
+            fail("damaged file accepted");
+        }
+        catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("checksum"));
+        }
+
+        bytes = saved.clone();
+        bytes[HEADER] = -1;
+        assertCorrupt(bytes, "outside [0, 32)");
+        bytes[HEADER] = 32;
+        assertCorrupt(bytes, "outside [0, 32)");
+
+        bytes = saved.clone();
+        String text = new String(bytes, StandardCharsets.ISO_8859_1);
+        bytes[text.indexOf("d10") + 2] = '2';
+        assertCorrupt(bytes, "records out of name order at 1");
+
+        ByteBuffer shape = ByteBuffer.wrap(saved.clone());
+        int root = HEADER + 2;
+        assertEquals(2, shape.getInt(root));
+        shape.putInt(root, 1);
+        assertCorrupt(shape.array(), "holds 1 of 2 objects");
+    }
+
+
+    private void assertCorrupt(byte[] bytes, String reason)
+        throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER, bytes.length - HEADER);
+        ByteBuffer.wrap(bytes).putInt(HEADER - Integer.BYTES, (int)crc
+            .getValue());
+        Files.write(file, bytes);
+        try {
+            WorldDB.load(file, new Random(1));
+            fail("inconsistent snapshot accepted");
+        }
+        catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("corrupt"));
+            assertTrue(expected.getCause().getMessage().contains(reason));
+        }
+    }
+}
@@ -0,0 +1,405 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of WorldDB mutations. Each record is framed as
+ * <pre>
+ *   int length | byte operation | payload | int CRC-32 of operation and payload
+ * </pre>
+ * where length counts the operation byte and payload. Add records carry the
+ * object as an {@link AirObjectRecord}; the other operations carry names,
+ * origins and tick batches.
+ * <p>
+ * Records are collected in memory and handed to the file in groups: every
+ * {@code groupSize} records the buffer is written and the file is forced
+ * to disk with a single fsync. A crash can therefore lose at most the last
+ * incomplete group; a group size of 1 makes every mutation durable before
+ * it returns. Recovery stops at the first torn or corrupt record and cuts
+ * the file back to the last complete one.
+ * <p>
+ * The first failed write, fsync or truncate leaves the log failed: what
+ * reached the file is unknown, so every later record, sync and reset
+ * throws an IOException carrying the original failure. Only
+ * {@link #close()} still works, and reopening and replaying the file
+ * recovers the records that did reach the disk.
+ *
+ * @author Matthew Ozoroski (omatthew-tech)
+ * @version 2025-11-26
+ */
+final class WriteAheadLog implements Closeable {
+    private static final byte ADD = 1;
+    private static final byte DELETE = 2;
+    private static final byte MOVE = 3;
+    private static final byte TICK = 4;
+    private static final byte CLEAR = 5;
+    private static final int FRAME_BYTES = 2 * Integer.BYTES;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final int groupSize;
+    private final CRC32 crc;
+    private ByteBuffer pending;
+    private int recordStart;
+    private int unsynced;
+    private long written;
+    private IOException failure;
+
+    /**
+     * Opens a log for appending, creating it if needed. Call
+     * {@link #replay(WorldDB)} first when the file may hold records.
+     *
+     * @param file
+     *            log file
+     * @param groupSize
+     *            number of records per fsync, at least 1
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    WriteAheadLog(Path file, int groupSize) throws IOException {
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("group size must be positive");
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.groupSize = groupSize;
+        crc = new CRC32();
+        pending = ByteBuffer.allocate(BUFFER_BYTES);
+        unsynced = 0;
+    }
+
+
+    /**
+     * Applies every complete record in the file to a world, then truncates
+     * anything after the last complete record and positions the log for
+     * appending.
+     *
+     * @param world
+     *            world to replay into
+     * @return the number of records replayed
+     * @throws IOException
+     *             if the file cannot be read or truncated
+     */
+    int replay(WorldDB world) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("log of " + size + " bytes exceeds 2 GB");
+        }
+        int replayed = 0;
+        int end = 0;
+        if (size > 0) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY,
+                0, size);
+            while (in.remaining() >= FRAME_BYTES) {
+                int length = in.getInt(end);
+                if (length < 1 || length > in.limit() - end - FRAME_BYTES) {
+                    break;
+                }
+                ByteBuffer body = in.duplicate();
+                body.position(end + Integer.BYTES).limit(end + Integer.BYTES
+                    + length);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int)crc.getValue() != in.getInt(end + Integer.BYTES
+                    + length)) {
+                    break;
+                }
+                try {
+                    apply(body, world);
+                }
+                catch (RuntimeException e) {
+                    throw new IOException("bad log record at byte " + end, e);
+                }
+                replayed++;
+                end += FRAME_BYTES + length;
+                in.position(end);
+            }
+        }
+        channel.truncate(end);
+        channel.position(end);
+        written = end;
+        return replayed;
+    }
+
+
+    /**
+     * Logs a successful add.
+     *
+     * @param obj
+     *            the added object
+     * @throws IOException
+     *             if a group had to be written and that failed
+     */
+    void add(AirObject obj) throws IOException {
+        ByteBuffer out = begin(ADD, AirObjectRecord.size(obj));
+        AirObjectRecord.write(out, obj);
+        end();
+    }
+
+
+    /**
+     * Logs a successful delete.
+     *
+     * @param name
+     *            name of the deleted object
+     * @throws IOException
+     *             if a group had to be written and that failed
+     */
+    void delete(String name) throws IOException {
+        ByteBuffer out = begin(DELETE, AirObjectRecord.stringSize(name));
+        AirObjectRecord.putString(out, name);
+        end();
+    }
+
+
+    /**
+     * Logs a successful move.
+     *
+     * @param name
+     *            name of the moved object
+     * @param x
+     *            new x origin
+     * @param y
+     *            new y origin
+     * @param z
+     *            new z origin
+     * @throws IOException
+     *             if a group had to be written and that failed
+     */
+    void move(String name, int x, int y, int z) throws IOException {
+        ByteBuffer out = begin(MOVE, AirObjectRecord.stringSize(name) + 3
+            * Integer.BYTES);
+        AirObjectRecord.putString(out, name);
+        out.putInt(x).putInt(y).putInt(z);
+        end();
+    }
+
+
+    /**
+     * Logs the updates a tick applied, as reported by
+     * {@link WorldDB#applyTick(TickBatch, TickBatch)}: one absolute origin
+     * per moved object. Updates that applyTick skipped must not be logged,
+     * since a replay over a later state might apply them.
+     *
+     * @param batch
+     *            the applied updates
+     * @throws IOException
+     *             if a group had to be written and that failed
+     */
+    void tick(TickBatch batch) throws IOException {
+        int count = batch.size();
+        long size = Integer.BYTES;
+        for (int i = 0; i < count; i++) {
+            size += AirObjectRecord.stringSize(batch.name(i)) + 3
+                * Integer.BYTES;
+        }
+        if (size > Integer.MAX_VALUE - FRAME_BYTES - 1) {
+            throw new IOException("tick of " + count + " updates is too large");
+        }
+        ByteBuffer out = begin(TICK, (int)size);
+        out.putInt(count);
+        for (int i = 0; i < count; i++) {
+            AirObjectRecord.putString(out, batch.name(i));
+            out.putInt(batch.x(i)).putInt(batch.y(i)).putInt(batch.z(i));
+        }
+        end();
+    }
+
+
+    /**
+     * Logs a clear.
+     *
+     * @throws IOException
+     *             if a group had to be written and that failed
+     */
+    void clear() throws IOException {
+        begin(CLEAR, 0);
+        end();
+    }
+
+
+    /**
+     * Writes any buffered records and forces them to disk.
+     *
+     * @throws IOException
+     *             if writing fails
+     */
+    void sync() throws IOException {
+        flush();
+        if (unsynced > 0) {
+            try {
+                channel.force(false);
+            }
+            catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+            unsynced = 0;
+        }
+    }
+
+
+    /**
+     * Checks that the log can still take records.
+     *
+     * @throws IOException
+     *             if an earlier write, fsync or truncate failed
+     */
+    void ensureUsable() throws IOException {
+        if (failure != null) {
+            throw new IOException("write-ahead log failed earlier", failure);
+        }
+    }
+
+
+    /**
+     * @return bytes in the log, including records not yet written
+     */
+    long size() {
+        return written + pending.position();
+    }
+
+
+    /**
+     * Drops every record, after the state they describe has been saved in
+     * a snapshot.
+     *
+     * @throws IOException
+     *             if the file cannot be truncated
+     */
+    void reset() throws IOException {
+        ensureUsable();
+        pending.clear();
+        unsynced = 0;
+        try {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(false);
+        }
+        catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+        written = 0;
+    }
+
+
+    /**
+     * Syncs buffered records, unless the log has failed, and closes the
+     * file.
+     *
+     * @throws IOException
+     *             if the final sync or the close fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (failure == null) {
+                sync();
+            }
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+
+    /**
+     * Starts a record with room for a payload of the given size.
+     */
+    private ByteBuffer begin(byte operation, int payload) throws IOException {
+        ensureUsable();
+        int needed = FRAME_BYTES + 1 + payload;
+        if (pending.remaining() < needed) {
+            flush();
+            if (pending.capacity() < needed) {
+                pending = ByteBuffer.allocate(needed);
+            }
+        }
+        recordStart = pending.position();
+        pending.putInt(1 + payload);
+        pending.put(operation);
+        return pending;
+    }
+
+
+    /**
+     * Seals the record started by the last begin and commits the group
+     * once it is full.
+     */
+    private void end() throws IOException {
+        ByteBuffer body = pending.duplicate();
+        body.limit(pending.position());
+        body.position(recordStart + Integer.BYTES);
+        crc.reset();
+        crc.update(body);
+        pending.putInt((int)crc.getValue());
+        unsynced++;
+        if (unsynced >= groupSize) {
+            sync();
+        }
+    }
+
+
+    /**
+     * Writes the buffered records. Bytes are counted as written only once
+     * the whole buffer is in the file; a failure leaves the log failed.
+     */
+    private void flush() throws IOException {
+        ensureUsable();
+        pending.flip();
+        try {
+            while (pending.hasRemaining()) {
+                channel.write(pending);
+            }
+        }
+        catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+        written += pending.limit();
+        pending.clear();
+    }
+
+
+    private static void apply(ByteBuffer in, WorldDB world) {
+        byte operation = in.get();
+        switch (operation) {
+            case ADD:
+                world.add(new AirObjectRecord().wrap(in, in.position())
+                    .toAirObject());
+                break;
+            case DELETE:
+                world.delete(AirObjectRecord.getString(in));
+                break;
+            case MOVE:
+                String name = AirObjectRecord.getString(in);
+                int x = in.getInt();
+                int y = in.getInt();
+                world.move(name, x, y, in.getInt());
+                break;
+            case TICK:
+                int count = in.getInt();
+                TickBatch batch = new TickBatch(count);
+                for (int i = 0; i < count; i++) {
+                    String moved = AirObjectRecord.getString(in);
+                    int mx = in.getInt();
+                    int my = in.getInt();
+                    batch.add(moved, mx, my, in.getInt());
+                }
+                world.applyTick(batch);
+                break;
+            case CLEAR:
+                world.clear();
+                break;
+            default:
+                throw new IllegalArgumentException("unknown log operation "
+                    + operation);
+        }
+    }
+}